@@ -2,9 +2,6 @@ package com.okvedTest;
 
 import com.okvedTest.Exception.OkvedLoadException;
 import com.okvedTest.Exception.PhoneNormalizationException;
-import com.okvedTest.Okved.OkvedData;
-import com.okvedTest.Okved.OkvedLoader;
-import com.okvedTest.Okved.OkvedMatcher;
 
 import java.util.Scanner;
 
@@ -16,7 +13,16 @@ public class Application {
     private static final String OKVED_URL =
             "https://raw.githubusercontent.com/bergstar/testcase/master/okved.json";
 
+    /**
+     * Количество прогревочных вызовов; задаётся свойством {@code -Dokved.warmupIterations}.
+     *
+     * <p>Консольное приложение обрабатывает один номер, поэтому прогрев по умолчанию
+     * выключен; для долгоживущих сервисов подходит {@link OkvedService#DEFAULT_WARMUP_ITERATIONS}.
+     */
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("okved.warmupIterations", 0);
+
     public static void main(String[] args) {
+        OkvedService service = OkvedService.forUrl(OKVED_URL, WARMUP_ITERATIONS);
         try (Scanner scanner = new Scanner(System.in)) {
 
             System.out.println("=== Поиск ОКВЭД ===");
@@ -24,7 +30,7 @@ public class Application {
 
             String input = scanner.nextLine();
 
-            run(input);
+            run(service, input);
 
         } catch (PhoneNormalizationException e) {
             System.err.println("Ошибка нормализации номера: " + e.getMessage());
@@ -33,30 +39,33 @@ public class Application {
         } catch (Exception e) {
             System.err.println("Неожиданная ошибка выполнения приложения.");
             e.printStackTrace();
+        } finally {
+            service.stop();
         }
     }
 
     /**
      * Основной сценарий выполнения приложения.
      *
-     * @param input исходная строка с телефонным номером
+     * <p>Номер нормализуем до запуска сервиса, чтобы некорректный ввод
+     * не требовал загрузки справочника.
+     *
+     * @param service сервис поиска ОКВЭД (запускается при первом вызове)
+     * @param input   исходная строка с телефонным номером
      * @throws PhoneNormalizationException если номер невозможно нормализовать
      * @throws OkvedLoadException если не удалось загрузить справочник ОКВЭД
      */
-    private static void run(String input)
+    private static void run(OkvedService service, String input)
             throws PhoneNormalizationException, OkvedLoadException {
 
         // Шаг 1: Нормализация номера
-        PhoneNormalizer normalizer = new PhoneNormalizer();
-        String normalizedPhone = normalizer.normalize(input);
+        String normalizedPhone = service.normalize(input);
 
-        // Шаг 2: Загрузка ОКВЭД
-        OkvedLoader loader = new OkvedLoader();
-        OkvedData okvedData = loader.loadFromUrl(OKVED_URL);
+        // Шаг 2: Загрузка ОКВЭД и прогрев
+        service.start();
 
         // Шаг 3: Поиск ОКВЭД по окончанию номера
-        OkvedMatcher matcher = new OkvedMatcher();
-        BestMatchResult result = matcher.findBestMatch(normalizedPhone, okvedData);
+        BestMatchResult result = service.findBestMatch(normalizedPhone);
 
         // Шаг 4: Вывод результата
         ResultPrinter printer = new ResultPrinter();
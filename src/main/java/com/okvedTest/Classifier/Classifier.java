@@ -0,0 +1,70 @@
+package com.okvedTest.Classifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Справочник-классификатор: идентификатор и упорядоченный список записей.
+ *
+ * <p>Порядок записей важен: среди равноценных кодов выбирается первый
+ * (см. {@link SuffixRules}).
+ *
+ * <p>Экземпляр неизменяем.
+ */
+public final class Classifier {
+
+    /**
+     * Идентификатор справочника ОКВЭД.
+     */
+    public static final String OKVED = "okved";
+
+    private final String id;
+
+    private final List<ClassifierEntry> entries;
+
+    /**
+     * Создаём справочник.
+     *
+     * @param id      идентификатор (например, "okved", "okpd2", "region")
+     * @param entries записи справочника (копируются)
+     * @throws IllegalArgumentException если идентификатор пуст или список записей null или пуст
+     */
+    public Classifier(String id, List<? extends ClassifierEntry> entries) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Идентификатор справочника не может быть пустым.");
+        }
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("Справочник " + id + " не может быть пустым.");
+        }
+        this.id = id;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Возвращаем идентификатор справочника.
+     *
+     * @return идентификатор
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Возвращаем неизменяемый список записей.
+     *
+     * @return записи в исходном порядке
+     */
+    public List<ClassifierEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Возвращаем количество записей.
+     *
+     * @return количество записей
+     */
+    public int size() {
+        return entries.size();
+    }
+}
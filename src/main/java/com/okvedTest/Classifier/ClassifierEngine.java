@@ -0,0 +1,90 @@
+package com.okvedTest.Classifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Поиск по окончанию телефонного номера сразу в нескольких справочниках.
+ *
+ * <p>Для каждого справочника действуют правила {@link SuffixRules}:
+ * <ol>
+ *   <li>Выбираем запись с максимальной длиной совпадения с конца</li>
+ *   <li>При равной длине совпадения — более детализированный код, затем более ранний</li>
+ *   <li>Если совпадений нет — первую запись с наименьшей длиной цифровой части</li>
+ * </ol>
+ *
+ * <p>Все справочники обслуживаются одним общим деревом {@link CombinedSuffixIndex}:
+ * цифры номера просматриваются один раз, и каждый узел сразу обновляет результаты
+ * всех справочников, вместо отдельного спуска по дереву каждого справочника.
+ *
+ * <p>Экземпляр неизменяем и потокобезопасен.
+ */
+public class ClassifierEngine {
+
+    private static final String PHONE_PREFIX = "+7";
+
+    private final List<Classifier> classifiers;
+
+    private final CombinedSuffixIndex index;
+
+    /**
+     * Создаём движок и строим общий индекс справочников.
+     *
+     * @param classifiers справочники с различными идентификаторами
+     * @throws IllegalArgumentException если список пуст или идентификаторы повторяются
+     */
+    public ClassifierEngine(List<Classifier> classifiers) {
+        if (classifiers == null || classifiers.isEmpty()) {
+            throw new IllegalArgumentException("Список справочников не может быть пустым.");
+        }
+        Set<String> ids = new HashSet<>();
+        for (Classifier classifier : classifiers) {
+            if (!ids.add(classifier.getId())) {
+                throw new IllegalArgumentException("Повторяющийся идентификатор справочника: " + classifier.getId());
+            }
+        }
+
+        this.classifiers = Collections.unmodifiableList(new ArrayList<>(classifiers));
+        this.index = CombinedSuffixIndex.build(this.classifiers);
+    }
+
+    /**
+     * Возвращаем справочники движка.
+     *
+     * @return справочники в порядке результатов {@link #match(String)}
+     */
+    public List<Classifier> getClassifiers() {
+        return classifiers;
+    }
+
+    /**
+     * Находим для каждого справочника запись с максимальным совпадением по окончанию номера.
+     *
+     * @param normalizedPhone нормализованный номер в формате {@code +79XXXXXXXXX}
+     * @return результаты в порядке {@link #getClassifiers()}
+     * @throws IllegalArgumentException если номер не начинается с {@code +7}
+     */
+    public List<ClassifierMatch> match(String normalizedPhone) {
+        Objects.requireNonNull(normalizedPhone, "Телефонный номер не может быть null.");
+        if (!normalizedPhone.startsWith(PHONE_PREFIX)) {
+            throw new IllegalArgumentException("Неверный формат нормализованного номера: " + normalizedPhone);
+        }
+
+        int count = classifiers.size();
+        int[] ordinals = new int[count];
+        int[] lengths = new int[count];
+        index.match(normalizedPhone.substring(PHONE_PREFIX.length()), ordinals, lengths);
+
+        List<ClassifierMatch> matches = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            Classifier classifier = classifiers.get(k);
+            matches.add(new ClassifierMatch(
+                    classifier.getId(), classifier.getEntries().get(ordinals[k]), lengths[k]));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+}
@@ -0,0 +1,31 @@
+package com.okvedTest.Classifier;
+
+/**
+ * Запись справочника-классификатора, сопоставляемая с окончанием телефонного номера.
+ *
+ * <p>Общий контракт для записей ОКВЭД и других классификаторов ({@link ReferenceEntry}):
+ * для поиска по {@link SuffixRules} и {@link SuffixIndex} важна только цифровая часть кода.
+ */
+public interface ClassifierEntry {
+
+    /**
+     * Возвращаем код записи в исходном виде (с точками и другими разделителями).
+     *
+     * @return код
+     */
+    String getCode();
+
+    /**
+     * Возвращаем название записи.
+     *
+     * @return название
+     */
+    String getName();
+
+    /**
+     * Возвращаем код без разделителей (только цифры).
+     *
+     * @return цифровая часть кода
+     */
+    String getDigitsOnly();
+}
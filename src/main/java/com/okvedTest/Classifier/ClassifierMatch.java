@@ -0,0 +1,73 @@
+package com.okvedTest.Classifier;
+
+/**
+ * Результат поиска по одному справочнику-классификатору.
+ *
+ * <p>Содержит найденную запись, длину совпадения и идентификатор справочника.
+ */
+public class ClassifierMatch {
+
+    /**
+     * Идентификатор справочника.
+     */
+    private final String classifierId;
+
+    /**
+     * Найденная запись.
+     */
+    private final ClassifierEntry entry;
+
+    /**
+     * Длина совпадения (количество совпавших цифр с конца).
+     */
+    private final int matchLength;
+
+    /**
+     * Создаём результат поиска.
+     *
+     * @param classifierId идентификатор справочника
+     * @param entry        найденная запись
+     * @param matchLength  длина совпадения
+     */
+    public ClassifierMatch(String classifierId, ClassifierEntry entry, int matchLength) {
+        this.classifierId = classifierId;
+        this.entry = entry;
+        this.matchLength = matchLength;
+    }
+
+    /**
+     * Возвращаем идентификатор справочника.
+     *
+     * @return идентификатор
+     */
+    public String getClassifierId() {
+        return classifierId;
+    }
+
+    /**
+     * Возвращаем найденную запись.
+     *
+     * @return запись справочника
+     */
+    public ClassifierEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Возвращаем длину совпадения.
+     *
+     * @return количество совпавших цифр с конца
+     */
+    public int getMatchLength() {
+        return matchLength;
+    }
+
+    /**
+     * Проверяем, является ли результат резервным (совпадение = 0).
+     *
+     * @return true, если использована резервная стратегия
+     */
+    public boolean isFallback() {
+        return matchLength == 0;
+    }
+}
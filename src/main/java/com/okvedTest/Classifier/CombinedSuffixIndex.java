@@ -0,0 +1,148 @@
+package com.okvedTest.Classifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Общий индекс по окончанию кода для нескольких справочников.
+ *
+ * <p>Дерево по цифрам кода, читаемым с конца, как в {@link SuffixIndex}, но узлы общие
+ * для всех справочников, а лучшая запись поддерева хранится отдельно для каждого
+ * справочника. Поэтому один проход по цифрам номера даёт результат сразу для всех
+ * справочников. Записи сравниваются по правилам {@link SuffixRules}, рангом служит
+ * позиция записи в справочнике.
+ *
+ * <p>Узлы хранятся в плоских массивах: {@code children[node * 10 + digit]} —
+ * номер дочернего узла (0 — нет, корень не бывает дочерним),
+ * {@code best[node * classifierCount + k]} — порядковый номер лучшей записи
+ * справочника {@code k} в поддереве или -1. Резервная запись каждого справочника
+ * хранится в {@code fallback[k]} и относится к корню.
+ *
+ * <p>Экземпляр неизменяем и потокобезопасен.
+ */
+final class CombinedSuffixIndex {
+
+    private static final int RADIX = 10;
+
+    private static final int NONE = -1;
+
+    private final int classifierCount;
+
+    private final int[] children;
+
+    private final int[] best;
+
+    /**
+     * Резервная запись каждого справочника: первая с минимальной длиной цифровой части.
+     */
+    private final int[] fallback;
+
+    private CombinedSuffixIndex(int classifierCount, int[] children, int[] best, int[] fallback) {
+        this.classifierCount = classifierCount;
+        this.children = children;
+        this.best = best;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Строим индекс по справочникам.
+     *
+     * <p>Лучшая запись узла выбирается через {@link SuffixRules#moreSpecific(int, long, int, long)},
+     * резервная — через {@link SuffixRules#moreGeneral(int, long, int, long)}.
+     *
+     * @param classifiers справочники (не пустые)
+     * @return индекс
+     */
+    static CombinedSuffixIndex build(List<Classifier> classifiers) {
+        int classifierCount = classifiers.size();
+        int capacity = 1024;
+        int[] children = new int[capacity * RADIX];
+        int[] best = new int[capacity * classifierCount];
+        // Длина цифровой части лучшей записи; нужна только при построении
+        int[] bestLength = new int[capacity * classifierCount];
+        Arrays.fill(best, NONE);
+        int nodeCount = 1;
+        int[] fallback = new int[classifierCount];
+
+        for (int k = 0; k < classifierCount; k++) {
+            List<ClassifierEntry> entries = classifiers.get(k).getEntries();
+            fallback[k] = NONE;
+            int fallbackLength = 0;
+
+            for (int ordinal = 0; ordinal < entries.size(); ordinal++) {
+                String digits = entries.get(ordinal).getDigitsOnly();
+                int length = digits.length();
+                if (fallback[k] == NONE || SuffixRules.moreGeneral(length, ordinal, fallbackLength, fallback[k])) {
+                    fallback[k] = ordinal;
+                    fallbackLength = length;
+                }
+
+                int node = 0;
+                for (int depth = 1; depth <= length; depth++) {
+                    int slot = node * RADIX + digits.charAt(length - depth) - '0';
+                    if (children[slot] == 0) {
+                        if (nodeCount == capacity) {
+                            capacity *= 2;
+                            children = Arrays.copyOf(children, capacity * RADIX);
+                            int oldSize = best.length;
+                            best = Arrays.copyOf(best, capacity * classifierCount);
+                            Arrays.fill(best, oldSize, best.length, NONE);
+                            bestLength = Arrays.copyOf(bestLength, capacity * classifierCount);
+                        }
+                        children[slot] = nodeCount++;
+                    }
+                    node = children[slot];
+
+                    int bestSlot = node * classifierCount + k;
+                    if (best[bestSlot] == NONE
+                            || SuffixRules.moreSpecific(length, ordinal, bestLength[bestSlot], best[bestSlot])) {
+                        best[bestSlot] = ordinal;
+                        bestLength[bestSlot] = length;
+                    }
+                }
+            }
+        }
+
+        return new CombinedSuffixIndex(classifierCount,
+                Arrays.copyOf(children, nodeCount * RADIX),
+                Arrays.copyOf(best, nodeCount * classifierCount),
+                fallback);
+    }
+
+    /**
+     * Находим для каждого справочника запись с максимальным совпадением по окончанию номера.
+     *
+     * <p>Цифры номера просматриваются один раз; на каждом узле обновляются результаты
+     * тех справочников, у которых в поддереве есть записи.
+     *
+     * @param phoneDigits цифры номера без префикса {@code +7}
+     * @param ordinals    массив для порядковых номеров найденных записей (по справочникам)
+     * @param lengths     массив для длин совпадения (по справочникам)
+     */
+    void match(String phoneDigits, int[] ordinals, int[] lengths) {
+        System.arraycopy(fallback, 0, ordinals, 0, classifierCount);
+        Arrays.fill(lengths, 0, classifierCount, 0);
+
+        int node = 0;
+        int length = phoneDigits.length();
+        for (int depth = 1; depth <= length; depth++) {
+            int digit = phoneDigits.charAt(length - depth) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                break;
+            }
+            node = children[node * RADIX + digit];
+            if (node == 0) {
+                break;
+            }
+
+            int base = node * classifierCount;
+            for (int k = 0; k < classifierCount; k++) {
+                int ordinal = best[base + k];
+                if (ordinal != NONE) {
+                    ordinals[k] = ordinal;
+                    lengths[k] = depth;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.okvedTest.Classifier;
+
+/**
+ * Фабрика результата поиска по найденной записи и длине совпадения.
+ *
+ * <p>Позволяет {@link SuffixRules} и {@link SuffixIndex} возвращать результат
+ * нужного вызывающему типа без промежуточных объектов.
+ *
+ * @param <E> тип записи
+ * @param <R> тип результата
+ */
+@FunctionalInterface
+public interface MatchFactory<E, R> {
+
+    /**
+     * Создаём результат поиска.
+     *
+     * @param entry       найденная запись
+     * @param matchLength длина совпадения (0 для резервной стратегии)
+     * @return результат
+     */
+    R create(E entry, int matchLength);
+}
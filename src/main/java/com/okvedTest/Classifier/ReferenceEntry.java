@@ -0,0 +1,64 @@
+package com.okvedTest.Classifier;
+
+/**
+ * Запись произвольного справочника-классификатора (ОКПД2, коды регионов и т.п.).
+ *
+ * <p>Содержит код и название; цифровая часть кода вычисляется при создании.
+ */
+public class ReferenceEntry implements ClassifierEntry {
+
+    /**
+     * Код записи (например, "01.11.11.110" для ОКПД2 или "77" для региона).
+     */
+    private final String code;
+
+    /**
+     * Название записи.
+     */
+    private final String name;
+
+    /**
+     * Код без разделителей (только цифры), используем для поиска совпадений.
+     */
+    private final String digitsOnly;
+
+    /**
+     * Создаём новую запись справочника.
+     *
+     * @param code код записи
+     * @param name название
+     * @throws IllegalArgumentException если код или название null/пусты
+     */
+    public ReferenceEntry(String code, String name) {
+        if (code == null || code.isEmpty()) {
+            throw new IllegalArgumentException("Код записи справочника не может быть пустым.");
+        }
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Название записи справочника не может быть пустым.");
+        }
+
+        this.code = code;
+        this.name = name;
+        this.digitsOnly = code.replaceAll("[^0-9]", "");
+    }
+
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDigitsOnly() {
+        return digitsOnly;
+    }
+
+    @Override
+    public String toString() {
+        return code + " - " + name;
+    }
+}
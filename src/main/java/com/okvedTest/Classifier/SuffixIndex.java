@@ -0,0 +1,500 @@
+package com.okvedTest.Classifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Неизменяемый индекс для поиска записи справочника по окончанию телефонного номера.
+ *
+ * <p>Префиксное дерево по цифрам кода, записанным с конца: узел на глубине
+ * {@code d} соответствует последним {@code d} цифрам. Каждый узел хранит лучшую
+ * запись своего поддерева, поэтому поиск проходит не больше 10 узлов
+ * вместо сравнения номера со всеми записями.
+ *
+ * <p>Результаты совпадают с линейным поиском
+ * {@link SuffixRules#findBestMatch(CharSequence, List, MatchFactory)}, если ранги
+ * возрастают вместе с позицией записи в справочнике.
+ *
+ * <p>Изменения {@link #with(ClassifierEntry, long)} и {@link #without(ClassifierEntry, long)}
+ * копируют только путь от корня до изменённого узла; остальные узлы разделяются
+ * между старым и новым индексом.
+ *
+ * @param <E> тип записи
+ */
+public final class SuffixIndex<E extends ClassifierEntry> {
+
+    private static final int RADIX = 10;
+
+    private static final SuffixIndex<?> EMPTY = new SuffixIndex<>(null, 0);
+
+    /**
+     * Корень дерева; null для пустого индекса.
+     */
+    private final Node<E> root;
+
+    private final int size;
+
+    private SuffixIndex(Node<E> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Возвращаем пустой индекс.
+     *
+     * @param <E> тип записи
+     * @return индекс без записей
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends ClassifierEntry> SuffixIndex<E> empty() {
+        return (SuffixIndex<E>) EMPTY;
+    }
+
+    /**
+     * Строим индекс по записям; ранг записи — её позиция в списке.
+     *
+     * @param entries записи справочника
+     * @param <E>     тип записи
+     * @return построенный индекс
+     */
+    public static <E extends ClassifierEntry> SuffixIndex<E> build(List<? extends E> entries) {
+        long[] ranks = new long[entries.size()];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = i;
+        }
+        return build(entries, ranks);
+    }
+
+    /**
+     * Строим индекс по записям с заданными рангами.
+     *
+     * @param entries записи справочника
+     * @param ranks   ранги записей, возрастающие вместе с позицией
+     * @param <E>     тип записи
+     * @return построенный индекс
+     * @throws IllegalArgumentException если размеры списков различаются
+     */
+    public static <E extends ClassifierEntry> SuffixIndex<E> build(List<? extends E> entries, long[] ranks) {
+        if (entries.size() != ranks.length) {
+            throw new IllegalArgumentException("Количество рангов не совпадает с количеством записей.");
+        }
+
+        MutableNode<E> mutableRoot = new MutableNode<>();
+        for (int i = 0; i < entries.size(); i++) {
+            mutableRoot.insert(new Slot<>(entries.get(i), ranks[i]));
+        }
+        return new SuffixIndex<>(mutableRoot.freeze(), entries.size());
+    }
+
+    /**
+     * Возвращаем новый индекс с добавленной записью.
+     *
+     * @param entry запись справочника
+     * @param rank  ранг записи (уникальный в пределах индекса)
+     * @return новый индекс; текущий не изменяется
+     */
+    public SuffixIndex<E> with(E entry, long rank) {
+        return new SuffixIndex<>(insert(root, new Slot<>(entry, rank), 0), size + 1);
+    }
+
+    /**
+     * Возвращаем новый индекс без указанной записи.
+     *
+     * @param entry запись справочника
+     * @param rank  ранг, с которым запись была добавлена
+     * @return новый индекс; текущий не изменяется
+     * @throws IllegalArgumentException если записи с таким рангом нет в индексе
+     */
+    public SuffixIndex<E> without(E entry, long rank) {
+        Node<E>[] result = newNodes(1);
+        if (!remove(root, entry.getDigitsOnly(), rank, 0, result)) {
+            throw new IllegalArgumentException("Запись отсутствует в индексе: " + entry);
+        }
+        return new SuffixIndex<>(result[0], size - 1);
+    }
+
+    /**
+     * Проверяем, что индексы дают одинаковые результаты для любого номера.
+     *
+     * <p>Сравниваем деревья целиком: набор узлов, записи в каждом узле
+     * (по коду и названию, в порядке рангов) и выбранные для поиска записи.
+     * Сами значения рангов не сравниваются, важен только их порядок.
+     *
+     * @param other индекс для сравнения
+     * @return true, если индексы эквивалентны
+     */
+    public boolean sameStructure(SuffixIndex<?> other) {
+        return size == other.size && sameNode(root, other.root);
+    }
+
+    private static boolean sameNode(Node<?> a, Node<?> b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (!sameEntry(a.longest.entry, b.longest.entry) || !sameEntry(a.shortest.entry, b.shortest.entry)) {
+            return false;
+        }
+
+        int terminalCount = a.terminals != null ? a.terminals.length : 0;
+        if (terminalCount != (b.terminals != null ? b.terminals.length : 0)) {
+            return false;
+        }
+        for (int i = 0; i < terminalCount; i++) {
+            if (!sameEntry(a.terminals[i].entry, b.terminals[i].entry)) {
+                return false;
+            }
+        }
+
+        if ((a.children == null) != (b.children == null)) {
+            return false;
+        }
+        if (a.children != null) {
+            for (int digit = 0; digit < RADIX; digit++) {
+                if (!sameNode(a.children[digit], b.children[digit])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameEntry(ClassifierEntry a, ClassifierEntry b) {
+        return a == b || (a.getCode().equals(b.getCode()) && a.getName().equals(b.getName()));
+    }
+
+    /**
+     * Возвращаем количество записей в индексе.
+     *
+     * @return количество записей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращаем корень дерева для обхода или упаковки в другой формат.
+     *
+     * @return корень; null для пустого индекса
+     */
+    public Node<E> root() {
+        return root;
+    }
+
+    /**
+     * Находим запись с максимальным совпадением по окончанию цифр номера.
+     *
+     * @param phoneDigits цифры номера без кода страны
+     * @param factory     фабрика результата
+     * @param <R>         тип результата
+     * @return результат для найденной записи
+     * @throws IllegalStateException если индекс пуст
+     */
+    public <R> R findBestMatch(CharSequence phoneDigits, MatchFactory<? super E, R> factory) {
+        if (root == null) {
+            throw new IllegalStateException("Справочник не содержит записей.");
+        }
+
+        Node<E> node = root;
+        int depth = 0;
+        int length = phoneDigits.length();
+        while (depth < length && node.children != null) {
+            int digit = phoneDigits.charAt(length - 1 - depth) - '0';
+            if (digit < 0 || digit >= RADIX || node.children[digit] == null) {
+                break;
+            }
+            node = node.children[digit];
+            depth++;
+        }
+
+        if (depth == 0) {
+            // Резервная стратегия: наиболее общий код
+            return factory.create(root.shortest.entry, 0);
+        }
+        return factory.create(node.longest.entry, depth);
+    }
+
+    private static <E extends ClassifierEntry> Node<E> insert(Node<E> node, Slot<E> slot, int depth) {
+        String digits = slot.entry.getDigitsOnly();
+        Node<E>[] children = node != null ? node.children : null;
+        Slot<E>[] terminals = node != null ? node.terminals : null;
+
+        if (depth == digits.length()) {
+            return new Node<>(children, insertSorted(terminals, slot));
+        }
+
+        int digit = digits.charAt(digits.length() - 1 - depth) - '0';
+        Node<E>[] copy = children != null ? children.clone() : newNodes(RADIX);
+        copy[digit] = insert(copy[digit], slot, depth + 1);
+        return new Node<>(copy, terminals);
+    }
+
+    /**
+     * Удаляем запись из поддерева.
+     *
+     * @param result ячейка для нового узла (null, если поддерево опустело)
+     * @return false, если запись не найдена
+     */
+    private static <E extends ClassifierEntry> boolean remove(Node<E> node, String digits, long rank, int depth,
+                                                              Node<E>[] result) {
+        if (node == null) {
+            return false;
+        }
+
+        if (depth == digits.length()) {
+            Slot<E>[] terminals = removeSorted(node.terminals, rank);
+            if (terminals == node.terminals) {
+                return false;
+            }
+            result[0] = Node.of(node.children, terminals);
+            return true;
+        }
+
+        if (node.children == null) {
+            return false;
+        }
+        int digit = digits.charAt(digits.length() - 1 - depth) - '0';
+        Node<E>[] child = newNodes(1);
+        if (!remove(node.children[digit], digits, rank, depth + 1, child)) {
+            return false;
+        }
+        Node<E>[] copy = node.children.clone();
+        copy[digit] = child[0];
+        result[0] = Node.of(copy, node.terminals);
+        return true;
+    }
+
+    private static <E extends ClassifierEntry> Slot<E>[] insertSorted(Slot<E>[] terminals, Slot<E> slot) {
+        if (terminals == null) {
+            Slot<E>[] result = newSlots(1);
+            result[0] = slot;
+            return result;
+        }
+        Slot<E>[] result = newSlots(terminals.length + 1);
+        int i = 0;
+        while (i < terminals.length && terminals[i].rank < slot.rank) {
+            result[i] = terminals[i];
+            i++;
+        }
+        result[i] = slot;
+        System.arraycopy(terminals, i, result, i + 1, terminals.length - i);
+        return result;
+    }
+
+    private static <E extends ClassifierEntry> Slot<E>[] removeSorted(Slot<E>[] terminals, long rank) {
+        if (terminals == null) {
+            return null;
+        }
+        for (int i = 0; i < terminals.length; i++) {
+            if (terminals[i].rank == rank) {
+                if (terminals.length == 1) {
+                    return null;
+                }
+                Slot<E>[] result = newSlots(terminals.length - 1);
+                System.arraycopy(terminals, 0, result, 0, i);
+                System.arraycopy(terminals, i + 1, result, i, terminals.length - i - 1);
+                return result;
+            }
+        }
+        return terminals;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends ClassifierEntry> Node<E>[] newNodes(int length) {
+        return (Node<E>[]) new Node<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends ClassifierEntry> Slot<E>[] newSlots(int length) {
+        return (Slot<E>[]) new Slot<?>[length];
+    }
+
+    /**
+     * Запись справочника вместе с её рангом.
+     */
+    private static final class Slot<E extends ClassifierEntry> {
+
+        final E entry;
+
+        final long rank;
+
+        final int length;
+
+        Slot(E entry, long rank) {
+            this.entry = entry;
+            this.rank = rank;
+            this.length = entry.getDigitsOnly().length();
+        }
+
+        boolean moreSpecificThan(Slot<E> other) {
+            return SuffixRules.moreSpecific(length, rank, other.length, other.rank);
+        }
+
+        boolean moreGeneralThan(Slot<E> other) {
+            return SuffixRules.moreGeneral(length, rank, other.length, other.rank);
+        }
+    }
+
+    /**
+     * Неизменяемый узел дерева.
+     *
+     * @param <E> тип записи
+     */
+    public static final class Node<E extends ClassifierEntry> {
+
+        /**
+         * Дочерние узлы по следующей цифре с конца; null у листа.
+         */
+        private final Node<E>[] children;
+
+        /**
+         * Записи, код которых заканчивается в этом узле, по возрастанию ранга.
+         */
+        private final Slot<E>[] terminals;
+
+        /**
+         * Наиболее детализированная запись поддерева.
+         */
+        private final Slot<E> longest;
+
+        /**
+         * Наиболее общая запись поддерева.
+         */
+        private final Slot<E> shortest;
+
+        private Node(Node<E>[] children, Slot<E>[] terminals) {
+            Slot<E> best = null;
+            Slot<E> general = null;
+            if (terminals != null) {
+                for (Slot<E> slot : terminals) {
+                    if (best == null || slot.moreSpecificThan(best)) {
+                        best = slot;
+                    }
+                    if (general == null || slot.moreGeneralThan(general)) {
+                        general = slot;
+                    }
+                }
+            }
+            if (children != null) {
+                for (Node<E> child : children) {
+                    if (child == null) {
+                        continue;
+                    }
+                    if (best == null || child.longest.moreSpecificThan(best)) {
+                        best = child.longest;
+                    }
+                    if (general == null || child.shortest.moreGeneralThan(general)) {
+                        general = child.shortest;
+                    }
+                }
+            }
+            this.children = children;
+            this.terminals = terminals;
+            this.longest = best;
+            this.shortest = general;
+        }
+
+        /**
+         * Создаём узел, отбрасывая пустые части; null, если узел не содержит записей.
+         */
+        private static <E extends ClassifierEntry> Node<E> of(Node<E>[] children, Slot<E>[] terminals) {
+            Node<E>[] compact = children;
+            if (children != null) {
+                compact = null;
+                for (Node<E> child : children) {
+                    if (child != null) {
+                        compact = children;
+                        break;
+                    }
+                }
+            }
+            if (compact == null && terminals == null) {
+                return null;
+            }
+            return new Node<>(compact, terminals);
+        }
+
+        /**
+         * Возвращаем дочерний узел по следующей цифре с конца.
+         *
+         * @param digit цифра от 0 до 9
+         * @return дочерний узел или null
+         */
+        public Node<E> child(int digit) {
+            return children != null ? children[digit] : null;
+        }
+
+        /**
+         * Возвращаем наиболее детализированную запись поддерева — результат поиска,
+         * остановившегося в этом узле.
+         *
+         * @return запись справочника
+         */
+        public E longest() {
+            return longest.entry;
+        }
+
+        /**
+         * Возвращаем наиболее общую запись поддерева — результат резервной стратегии для корня.
+         *
+         * @return запись справочника
+         */
+        public E shortest() {
+            return shortest.entry;
+        }
+    }
+
+    /**
+     * Изменяемый узел для пакетного построения индекса.
+     */
+    private static final class MutableNode<E extends ClassifierEntry> {
+
+        MutableNode<E>[] children;
+
+        Slot<E>[] terminals;
+
+        int terminalCount;
+
+        @SuppressWarnings("unchecked")
+        void insert(Slot<E> slot) {
+            String digits = slot.entry.getDigitsOnly();
+            MutableNode<E> node = this;
+            for (int i = digits.length() - 1; i >= 0; i--) {
+                if (node.children == null) {
+                    node.children = (MutableNode<E>[]) new MutableNode<?>[RADIX];
+                }
+                int digit = digits.charAt(i) - '0';
+                if (node.children[digit] == null) {
+                    node.children[digit] = new MutableNode<>();
+                }
+                node = node.children[digit];
+            }
+            if (node.terminals == null) {
+                node.terminals = newSlots(1);
+            } else if (node.terminalCount == node.terminals.length) {
+                node.terminals = Arrays.copyOf(node.terminals, node.terminalCount * 2);
+            }
+            // Записи добавляются по возрастанию ранга
+            node.terminals[node.terminalCount++] = slot;
+        }
+
+        Node<E> freeze() {
+            Node<E>[] frozen = null;
+            if (children != null) {
+                frozen = newNodes(RADIX);
+                for (int i = 0; i < RADIX; i++) {
+                    if (children[i] != null) {
+                        frozen[i] = children[i].freeze();
+                    }
+                }
+            }
+            Slot<E>[] slots = null;
+            if (terminals != null) {
+                slots = terminals.length == terminalCount ? terminals : Arrays.copyOf(terminals, terminalCount);
+            }
+            return Node.of(frozen, slots);
+        }
+    }
+}
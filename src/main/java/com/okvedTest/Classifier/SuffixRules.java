@@ -0,0 +1,117 @@
+package com.okvedTest.Classifier;
+
+import java.util.List;
+
+/**
+ * Правила выбора записи справочника по окончанию телефонного номера.
+ *
+ * <p>Алгоритм:
+ * <ol>
+ *   <li>Сравниваем цифры номера и кода с конца</li>
+ *   <li>Выбираем запись с максимальной длиной совпадения</li>
+ *   <li>При равной длине совпадения — более детализированный код
+ *       (с большей длиной цифровой части), затем более ранний</li>
+ *   <li>Если совпадений нет — первую запись с наименьшей длиной цифровой части</li>
+ * </ol>
+ *
+ * <p>Линейный поиск {@link #findBestMatch(CharSequence, List, MatchFactory)} служит
+ * эталоном; {@link SuffixIndex} и {@link CombinedSuffixIndex} дают те же результаты,
+ * сравнивая записи через {@link #moreSpecific(int, long, int, long)}
+ * и {@link #moreGeneral(int, long, int, long)}.
+ */
+public final class SuffixRules {
+
+    private SuffixRules() {
+    }
+
+    /**
+     * Находим запись с максимальным совпадением по окончанию номера перебором всех записей.
+     *
+     * @param phoneDigits цифры номера без кода страны
+     * @param entries     записи справочника в исходном порядке
+     * @param factory     фабрика результата
+     * @param <E>         тип записи
+     * @param <R>         тип результата
+     * @return результат для найденной записи
+     * @throws IllegalStateException если список записей пуст
+     */
+    public static <E extends ClassifierEntry, R> R findBestMatch(CharSequence phoneDigits, List<? extends E> entries,
+                                                                 MatchFactory<? super E, R> factory) {
+        E best = null;
+        int bestMatchLength = 0;
+        int bestLength = 0;
+        E fallback = null;
+        int fallbackLength = Integer.MAX_VALUE;
+
+        for (E entry : entries) {
+            String digits = entry.getDigitsOnly();
+            int length = digits.length();
+            if (length < fallbackLength) {
+                fallback = entry;
+                fallbackLength = length;
+            }
+
+            int matchLength = matchLength(phoneDigits, digits);
+            if (matchLength > 0 && (matchLength > bestMatchLength
+                    || (matchLength == bestMatchLength && length > bestLength))) {
+                best = entry;
+                bestMatchLength = matchLength;
+                bestLength = length;
+            }
+        }
+
+        if (best != null) {
+            return factory.create(best, bestMatchLength);
+        }
+        if (fallback == null) {
+            throw new IllegalStateException("Справочник не содержит записей.");
+        }
+        // Резервная стратегия: наиболее общий код
+        return factory.create(fallback, 0);
+    }
+
+    /**
+     * Вычисляем длину совпадения номера и кода с конца.
+     *
+     * @param phoneDigits цифры телефонного номера
+     * @param digits      цифры кода
+     * @return количество совпавших символов с конца
+     */
+    public static int matchLength(CharSequence phoneDigits, String digits) {
+        int phoneLength = phoneDigits.length();
+        int length = digits.length();
+        int limit = Math.min(phoneLength, length);
+        int matchLength = 0;
+        while (matchLength < limit
+                && phoneDigits.charAt(phoneLength - 1 - matchLength) == digits.charAt(length - 1 - matchLength)) {
+            matchLength++;
+        }
+        return matchLength;
+    }
+
+    /**
+     * Лучше ли запись при равной длине совпадения: длиннее код, затем раньше в справочнике.
+     *
+     * @param length      длина цифровой части записи
+     * @param rank        ранг записи (позиция в справочнике)
+     * @param otherLength длина цифровой части другой записи
+     * @param otherRank   ранг другой записи
+     * @return true, если запись предпочтительнее
+     */
+    public static boolean moreSpecific(int length, long rank, int otherLength, long otherRank) {
+        return length > otherLength || (length == otherLength && rank < otherRank);
+    }
+
+    /**
+     * Лучше ли запись для резервной стратегии: короче код, затем раньше в справочнике.
+     *
+     * @param length      длина цифровой части записи
+     * @param rank        ранг записи (позиция в справочнике)
+     * @param otherLength длина цифровой части другой записи
+     * @param otherRank   ранг другой записи
+     * @return true, если запись предпочтительнее
+     */
+    public static boolean moreGeneral(int length, long rank, int otherLength, long otherRank) {
+        return length < otherLength || (length == otherLength && rank < otherRank);
+    }
+}
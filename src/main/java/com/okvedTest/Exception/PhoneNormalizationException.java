@@ -13,11 +13,39 @@ package com.okvedTest.Exception;
  */
 public class PhoneNormalizationException extends Exception {
 
+    /**
+     * Категория ошибки нормализации.
+     */
+    public enum Reason {
+        EMPTY,
+        INVALID_LENGTH,
+        INVALID_COUNTRY_CODE,
+        NOT_MOBILE,
+        UNKNOWN
+    }
+
+    private final Reason reason;
+
     public PhoneNormalizationException(String message) {
+        this(message, Reason.UNKNOWN);
+    }
+
+    public PhoneNormalizationException(String message, Reason reason) {
         super(message);
+        this.reason = reason;
     }
 
     public PhoneNormalizationException(String message, Throwable cause) {
         super(message, cause);
+        this.reason = Reason.UNKNOWN;
+    }
+
+    /**
+     * Возвращаем категорию ошибки.
+     *
+     * @return категория ошибки нормализации
+     */
+    public Reason getReason() {
+        return reason;
     }
 }
\ No newline at end of file
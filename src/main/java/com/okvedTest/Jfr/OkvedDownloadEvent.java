@@ -0,0 +1,33 @@
+package com.okvedTest.Jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: загрузка файла справочника ОКВЭД по HTTPS.
+ *
+ * <p>По умолчанию записываются загрузки дольше 100 мс.
+ */
+@Name("com.okvedTest.OkvedDownload")
+@Label("Загрузка ОКВЭД")
+@Description("Скачивание файла справочника ОКВЭД по сети")
+@Category({"OKVED", "Справочник"})
+@StackTrace(false)
+@Threshold("100 ms")
+public class OkvedDownloadEvent extends jdk.jfr.Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Код ответа HTTP")
+    public int statusCode;
+
+    @Label("Размер")
+    @DataAmount
+    public long bytes;
+}
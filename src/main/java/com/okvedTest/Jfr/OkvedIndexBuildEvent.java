@@ -0,0 +1,30 @@
+package com.okvedTest.Jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: построение индекса поиска по справочнику ОКВЭД.
+ *
+ * <p>Выпускается структурами, которые предварительно обрабатывают
+ * {@code OkvedData} для ускорения сопоставления.
+ */
+@Name("com.okvedTest.OkvedIndexBuild")
+@Label("Построение индекса ОКВЭД")
+@Description("Построение структуры поиска по справочнику ОКВЭД")
+@Category({"OKVED", "Справочник"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class OkvedIndexBuildEvent extends jdk.jfr.Event {
+
+    @Label("Индекс")
+    @Description("Тип построенной структуры")
+    public String indexType;
+
+    @Label("Количество записей")
+    public int entryCount;
+}
@@ -0,0 +1,57 @@
+package com.okvedTest.Jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Событие JFR: выборочный вызов поиска ОКВЭД по номеру.
+ *
+ * <p>Записывается в среднем один вызов из {@link #SAMPLE_RATE}
+ * (системное свойство {@code okved.jfr.matchSampleRate}, по умолчанию 1000).
+ * Выборка делается только при включённом событии, поэтому без записи JFR
+ * накладные расходы сводятся к проверке {@link #sample()} без создания события.
+ * Поиск длится доли микросекунды, поэтому порога длительности нет: объём
+ * записи ограничивает только выборка.
+ */
+@Name("com.okvedTest.OkvedMatch")
+@Label("Поиск ОКВЭД")
+@Description("Выборочный вызов OkvedMatcher.findBestMatch")
+@Category({"OKVED", "Поиск"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class OkvedMatchEvent extends jdk.jfr.Event {
+
+    /**
+     * Частота выборки: записываем один вызов из N.
+     */
+    public static final int SAMPLE_RATE = Math.max(1, Integer.getInteger("okved.jfr.matchSampleRate", 1000));
+
+    private static final EventType TYPE = EventType.getEventType(OkvedMatchEvent.class);
+
+    @Label("Код ОКВЭД")
+    public String code;
+
+    @Label("Длина совпадения")
+    public int matchLength;
+
+    @Label("Резервная стратегия")
+    public boolean fallback;
+
+    /**
+     * Проверяем, попадает ли текущий вызов в выборку.
+     *
+     * <p>Вызывается до создания события, чтобы без записи JFR не выделять память.
+     *
+     * @return true, если событие включено и вызов выбран
+     */
+    public static boolean sample() {
+        return TYPE.isEnabled() && (SAMPLE_RATE == 1 || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0);
+    }
+}
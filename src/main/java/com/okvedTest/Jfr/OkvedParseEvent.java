@@ -0,0 +1,38 @@
+package com.okvedTest.Jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: разбор JSON-справочника ОКВЭД в {@code OkvedData}.
+ *
+ * <p>По умолчанию записываются разборы дольше 20 мс.
+ */
+@Name("com.okvedTest.OkvedParse")
+@Label("Разбор ОКВЭД")
+@Description("Разбор JSON-справочника ОКВЭД в список записей")
+@Category({"OKVED", "Справочник"})
+@StackTrace(false)
+@Threshold("20 ms")
+public class OkvedParseEvent extends jdk.jfr.Event {
+
+    @Label("Источник")
+    @Description("URL или путь к файлу")
+    public String source;
+
+    @Label("Парсер")
+    @Description("gson или mmap")
+    public String parser;
+
+    @Label("Размер")
+    @DataAmount
+    public long bytes;
+
+    @Label("Количество записей")
+    public int entryCount;
+}
@@ -0,0 +1,40 @@
+package com.okvedTest.Jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: номер не прошёл нормализацию.
+ *
+ * <p>Мгновенное событие без длительности; категория ошибки берётся из
+ * {@link com.okvedTest.Exception.PhoneNormalizationException.Reason}.
+ * Создаётся только при включённом событии ({@link #enabled()}), поэтому
+ * без записи JFR отклонение номера не выделяет память под событие.
+ */
+@Name("com.okvedTest.PhoneNormalizationFailed")
+@Label("Ошибка нормализации номера")
+@Description("Номер отклонён PhoneNormalizer")
+@Category({"OKVED", "Нормализация"})
+@StackTrace(false)
+public class PhoneNormalizationFailedEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(PhoneNormalizationFailedEvent.class);
+
+    @Label("Категория")
+    public String reason;
+
+    /**
+     * Проверяем, включено ли событие в какой-либо записи JFR.
+     *
+     * <p>Вызывается до создания события, чтобы без записи JFR не выделять память.
+     *
+     * @return true, если событие включено
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,147 @@
+package com.okvedTest.Load;
+
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Okved.FlatOkvedTrie;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedLoader;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.OkvedSuffixIndex;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Замер пакетного поиска ОКВЭД против поштучного на одних и тех же номерах.
+ *
+ * <p>Поштучный поиск — {@link OkvedMatcher#findBestMatch(String, OkvedSuffixIndex)}
+ * по строкам {@code +79XXXXXXXXX}; пакетный —
+ * {@link OkvedMatcher#findBestMatches(long[], FlatOkvedTrie, int[], int[])} по тем же
+ * номерам в виде чисел. Для каждого способа выводим время и аллокации на номер
+ * по лучшему из замеров после прогрева.
+ *
+ * <p>Аргументы (позиционные, все необязательные): путь к {@code okved.json}
+ * (по умолчанию okved.json), количество номеров (100000), количество замеров (20).
+ *
+ * <p>Пример запуска:
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.okvedTest.Load.BatchBenchmark \
+ *     -Dexec.args="okved.json 1000000 30"
+ * </pre>
+ */
+public class BatchBenchmark {
+
+    private static final long SEED = 42;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        try {
+            Path dictionary = Paths.get(args.length > 0 ? args[0] : "okved.json");
+            int phoneCount = args.length > 1 ? parsePositive("количество номеров", args[1]) : 100_000;
+            int rounds = args.length > 2 ? parsePositive("количество замеров", args[2]) : 20;
+            new BatchBenchmark().run(dictionary, phoneCount, rounds);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ошибка параметров: " + e.getMessage());
+        } catch (OkvedLoadException e) {
+            System.err.println("Ошибка загрузки ОКВЭД: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Выполняем замер и выводим результат.
+     *
+     * @param dictionary путь к локальному справочнику
+     * @param phoneCount количество номеров в пакете
+     * @param rounds     количество замеров каждого способа
+     * @throws OkvedLoadException если не удалось загрузить справочник
+     */
+    public void run(Path dictionary, int phoneCount, int rounds) throws OkvedLoadException {
+        OkvedData okvedData = new OkvedLoader().loadFromPath(dictionary);
+        OkvedSuffixIndex index = OkvedSuffixIndex.build(okvedData);
+        FlatOkvedTrie trie = FlatOkvedTrie.of(okvedData);
+        OkvedMatcher matcher = new OkvedMatcher();
+
+        Random random = new Random(SEED);
+        String[] phones = new String[phoneCount];
+        long[] packed = new long[phoneCount];
+        for (int i = 0; i < phoneCount; i++) {
+            packed[i] = 9_000_000_000L + (long) (random.nextDouble() * 1_000_000_000L);
+            phones[i] = "+7" + packed[i];
+        }
+        int[] ordinals = new int[phoneCount];
+        int[] lengths = new int[phoneCount];
+
+        System.out.printf("Справочник: %d записей, номеров: %d, замеров: %d%n",
+                okvedData.size(), phoneCount, rounds);
+
+        // Сумма длин совпадения не даёт JIT выбросить поштучный поиск
+        long checksum = 0;
+        long singleNanos = Long.MAX_VALUE;
+        long singleBytes = Long.MAX_VALUE;
+        long batchNanos = Long.MAX_VALUE;
+        long batchBytes = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + rounds; round++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (String phone : phones) {
+                checksum += matcher.findBestMatch(phone, index).getMatchLength();
+            }
+            long elapsed = System.nanoTime() - start;
+            long bytes = allocatedBytes() - bytesBefore;
+            if (round >= WARMUP_ROUNDS) {
+                singleNanos = Math.min(singleNanos, elapsed);
+                singleBytes = Math.min(singleBytes, bytes);
+            }
+
+            bytesBefore = allocatedBytes();
+            start = System.nanoTime();
+            matcher.findBestMatches(packed, trie, ordinals, lengths);
+            elapsed = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytesBefore;
+            checksum += lengths[round % phoneCount];
+            if (round >= WARMUP_ROUNDS) {
+                batchNanos = Math.min(batchNanos, elapsed);
+                batchBytes = Math.min(batchBytes, bytes);
+            }
+        }
+
+        print("Поштучно", singleNanos, singleBytes, phoneCount);
+        print("Пакетом", batchNanos, batchBytes, phoneCount);
+        System.out.println("Контрольная сумма: " + checksum);
+    }
+
+    private static void print(String label, long nanos, long bytes, int phoneCount) {
+        System.out.printf("%-10s %8.1f нс/номер %8.1f байт/номер%n",
+                label, (double) nanos / phoneCount, bytes < 0 ? Double.NaN : (double) bytes / phoneCount);
+    }
+
+    /**
+     * Возвращаем объём памяти, выделенной текущим потоком.
+     *
+     * @return байты или -1, если счётчик недоступен
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    private static int parsePositive(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed <= 0) {
+                throw new IllegalArgumentException(name + " должно быть положительным: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " должно быть числом: " + value, e);
+        }
+    }
+}
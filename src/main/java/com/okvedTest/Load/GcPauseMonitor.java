@@ -0,0 +1,108 @@
+package com.okvedTest.Load;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сбор пауз сборщика мусора через уведомления {@link GarbageCollectorMXBean}.
+ *
+ * <p>Учитываются только сборки, завершившиеся между {@link #start()} и {@link #stop()}.
+ * Подписываемся на все бины сборщиков, отправляющие уведомления, независимо от имени.
+ * Уведомления о завершении конкурентного цикла целиком (действие {@value #CONCURRENT_CYCLE_ACTION},
+ * например у {@code ZGC Cycles}) пропускаются, так как их длительность не является паузой приложения.
+ */
+public class GcPauseMonitor implements NotificationListener {
+
+    /**
+     * Действие сборщика, означающее конец конкурентного цикла, а не паузы.
+     */
+    private static final String CONCURRENT_CYCLE_ACTION = "end of GC cycle";
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    private long pauseCount;
+
+    private long totalPauseMillis;
+
+    private long maxPauseMillis;
+
+    /**
+     * Начинаем отслеживать паузы сборщика мусора.
+     */
+    public void start() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) bean;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    /**
+     * Прекращаем отслеживание пауз.
+     */
+    public void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // Слушатель уже снят
+            }
+        }
+        emitters.clear();
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (CONCURRENT_CYCLE_ACTION.equals(info.getGcAction())) {
+            return;
+        }
+        long duration = info.getGcInfo().getDuration();
+
+        pauseCount++;
+        totalPauseMillis += duration;
+        maxPauseMillis = Math.max(maxPauseMillis, duration);
+    }
+
+    /**
+     * Возвращаем количество пауз.
+     *
+     * @return количество сборок
+     */
+    public synchronized long getPauseCount() {
+        return pauseCount;
+    }
+
+    /**
+     * Возвращаем суммарную длительность пауз.
+     *
+     * @return длительность в миллисекундах
+     */
+    public synchronized long getTotalPauseMillis() {
+        return totalPauseMillis;
+    }
+
+    /**
+     * Возвращаем максимальную паузу.
+     *
+     * @return длительность в миллисекундах
+     */
+    public synchronized long getMaxPauseMillis() {
+        return maxPauseMillis;
+    }
+}
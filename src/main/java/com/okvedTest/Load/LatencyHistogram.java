@@ -0,0 +1,112 @@
+package com.okvedTest.Load;
+
+/**
+ * Гистограмма задержек с логарифмическими корзинами фиксированного размера.
+ *
+ * <p>Значения до 32 нс хранятся точно, дальше каждая степень двойки делится
+ * на 16 корзин (относительная погрешность не больше 1/16).
+ * Запись не выделяет память, поэтому не искажает замер скорости аллокаций.
+ * Экземпляр не потокобезопасен: каждый поток пишет в свою гистограмму,
+ * а результаты объединяются через {@link #add(LatencyHistogram)}.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (64 - 5) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    private long totalCount;
+
+    private long maxValue;
+
+    /**
+     * Записываем одно значение задержки.
+     *
+     * @param nanos задержка в наносекундах (отрицательные значения считаются нулём)
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[indexOf(value)]++;
+        totalCount++;
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    /**
+     * Добавляем значения другой гистограммы к текущей.
+     *
+     * @param other гистограмма для объединения
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * Возвращаем значение для заданного перцентиля.
+     *
+     * @param percentile перцентиль от 0 до 100
+     * @return нижняя граница корзины, в которую попал перцентиль, в наносекундах
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(valueOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Возвращаем количество записанных значений.
+     *
+     * @return количество значений
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Возвращаем максимальное записанное значение.
+     *
+     * @return максимум в наносекундах
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (msb - 5) * SUB_BUCKETS + sub;
+    }
+
+    private static long valueOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int group = (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        int msb = group + 5;
+        return (long) (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,195 @@
+package com.okvedTest.Load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста, разобранные из аргументов командной строки.
+ *
+ * <p>Поддерживаемые аргументы:
+ * <pre>
+ * --dictionary &lt;путь&gt;   локальный okved.json (по умолчанию okved.json)
+ * --threads &lt;N&gt;          число рабочих потоков (по умолчанию 1)
+ * --rate &lt;ops/s&gt;        суммарная целевая частота; 0 — без ограничения (по умолчанию 0)
+ * --duration &lt;сек&gt;      длительность замера (по умолчанию 10)
+ * --warmup &lt;сек&gt;        длительность прогрева (по умолчанию 3)
+ * --seed &lt;число&gt;        seed генератора номеров (по умолчанию 42)
+ * --mix plus7=40,eight=30,ten=20,invalid=10   веса форматов номеров
+ * </pre>
+ */
+public class LoadOptions {
+
+    private Path dictionary = Paths.get("okved.json");
+
+    private int threads = 1;
+
+    private long rate;
+
+    private int durationSeconds = 10;
+
+    private int warmupSeconds = 3;
+
+    private long seed = 42;
+
+    private final Map<PhoneInputGenerator.Format, Integer> mix =
+            new EnumMap<>(PhoneInputGenerator.Format.class);
+
+    private LoadOptions() {
+        mix.put(PhoneInputGenerator.Format.PLUS7, 40);
+        mix.put(PhoneInputGenerator.Format.EIGHT, 30);
+        mix.put(PhoneInputGenerator.Format.TEN_DIGITS, 20);
+        mix.put(PhoneInputGenerator.Format.INVALID, 10);
+    }
+
+    /**
+     * Разбираем аргументы командной строки.
+     *
+     * @param args аргументы
+     * @return параметры теста
+     * @throws IllegalArgumentException если аргумент неизвестен или значение некорректно
+     */
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Не указано значение для " + name);
+            }
+            String value = args[++i];
+
+            switch (name) {
+                case "--dictionary":
+                    options.dictionary = Paths.get(value);
+                    break;
+                case "--threads":
+                    options.threads = parsePositive(name, value);
+                    break;
+                case "--rate":
+                    options.rate = parseLong(name, value);
+                    break;
+                case "--duration":
+                    options.durationSeconds = parsePositive(name, value);
+                    break;
+                case "--warmup":
+                    options.warmupSeconds = parseInt(name, value);
+                    break;
+                case "--seed":
+                    options.seed = parseLong(name, value);
+                    break;
+                case "--mix":
+                    options.parseMix(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный аргумент: " + name);
+            }
+        }
+
+        return options;
+    }
+
+    private void parseMix(String value) {
+        mix.clear();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Некорректный элемент --mix: " + part);
+            }
+            mix.put(PhoneInputGenerator.Format.fromKey(pair[0].trim()),
+                    parseInt("--mix", pair[1].trim()));
+        }
+    }
+
+    private static int parsePositive(String name, String value) {
+        long parsed = parseLong(name, value);
+        if (parsed <= 0 || parsed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Значение " + name + " должно быть положительным: " + value);
+        }
+        return (int) parsed;
+    }
+
+    private static int parseInt(String name, String value) {
+        long parsed = parseLong(name, value);
+        if (parsed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Значение " + name + " слишком велико: " + value);
+        }
+        return (int) parsed;
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Значение " + name + " не может быть отрицательным: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректное число для " + name + ": " + value, e);
+        }
+    }
+
+    /**
+     * Возвращаем путь к локальному файлу справочника.
+     *
+     * @return путь к okved.json
+     */
+    public Path getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Возвращаем число рабочих потоков.
+     *
+     * @return число потоков
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Возвращаем суммарную целевую частоту операций.
+     *
+     * @return операций в секунду; 0 — без ограничения
+     */
+    public long getRate() {
+        return rate;
+    }
+
+    /**
+     * Возвращаем длительность замера.
+     *
+     * @return длительность в секундах
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Возвращаем длительность прогрева.
+     *
+     * @return длительность в секундах
+     */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * Возвращаем seed генератора номеров.
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Возвращаем веса форматов номеров.
+     *
+     * @return веса по форматам
+     */
+    public Map<PhoneInputGenerator.Format, Integer> getMix() {
+        return mix;
+    }
+}
@@ -0,0 +1,85 @@
+package com.okvedTest.Load;
+
+/**
+ * Класс для вывода отчёта нагрузочного теста.
+ *
+ * <p>Выводим в консоль:
+ * <ul>
+ *   <li>Параметры прогона</li>
+ *   <li>Пропускную способность и долю некорректных номеров</li>
+ *   <li>Перцентили задержки</li>
+ *   <li>Скорость аллокаций</li>
+ *   <li>Паузы сборщика мусора</li>
+ * </ul>
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    /**
+     * Выводим отчёт в консоль.
+     *
+     * <p>Пример вывода:
+     * <pre>
+     * ===== НАГРУЗОЧНЫЙ ТЕСТ =====
+     * Потоков: 4, целевая частота: без ограничения, замер: 10 с
+     * Операций: 12345678 (некорректных номеров: 10.0%)
+     * Пропускная способность: 1234567 оп/с
+     * Задержка, мкс: p50=2.1 p90=3.4 p99=8.0 p99.9=40.2 p99.99=310.5 max=1520.0
+     * Аллокации: 812.4 МБ/с (690 байт/оп)
+     * Паузы GC: 35, суммарно 41 мс, максимум 3 мс
+     * </pre>
+     *
+     * @param options        параметры теста
+     * @param histogram      объединённая гистограмма задержек
+     * @param invalidCount   количество номеров, не прошедших нормализацию
+     * @param elapsedNanos   фактическая длительность замера
+     * @param allocatedBytes суммарные аллокации рабочих потоков; -1, если неизвестны
+     * @param gc             собранные паузы сборщика мусора
+     */
+    public void print(LoadOptions options,
+                      LatencyHistogram histogram,
+                      long invalidCount,
+                      long elapsedNanos,
+                      long allocatedBytes,
+                      GcPauseMonitor gc) {
+        long operations = histogram.getTotalCount();
+        double seconds = elapsedNanos / 1e9;
+
+        System.out.println();
+        System.out.println("===== НАГРУЗОЧНЫЙ ТЕСТ =====");
+        System.out.printf("Потоков: %d, целевая частота: %s, замер: %d с%n",
+                options.getThreads(),
+                options.getRate() > 0 ? options.getRate() + " оп/с" : "без ограничения",
+                options.getDurationSeconds());
+        System.out.printf("Операций: %d (некорректных номеров: %.1f%%)%n",
+                operations, operations > 0 ? 100.0 * invalidCount / operations : 0.0);
+        System.out.printf("Пропускная способность: %.0f оп/с%n", operations / seconds);
+
+        StringBuilder latency = new StringBuilder("Задержка, мкс:");
+        for (double percentile : PERCENTILES) {
+            latency.append(String.format(" p%s=%.1f",
+                    formatPercentile(percentile), histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        latency.append(String.format(" max=%.1f", histogram.getMaxValue() / 1000.0));
+        System.out.println(latency);
+
+        if (allocatedBytes >= 0) {
+            System.out.printf("Аллокации: %.1f МБ/с (%d байт/оп)%n",
+                    allocatedBytes / seconds / (1024 * 1024),
+                    operations > 0 ? allocatedBytes / operations : 0);
+        } else {
+            System.out.println("Аллокации: не поддерживается JVM");
+        }
+
+        System.out.printf("Паузы GC: %d, суммарно %d мс, максимум %d мс%n",
+                gc.getPauseCount(), gc.getTotalPauseMillis(), gc.getMaxPauseMillis());
+        System.out.println("============================");
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,137 @@
+package com.okvedTest.Load;
+
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedLoader;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.PhoneNormalizer;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест нормализации и поиска ОКВЭД на синтетических номерах.
+ *
+ * <p>Справочник читается из локального JSON-файла вместо загрузки по HTTPS,
+ * номера генерируются {@link PhoneInputGenerator} с фиксированным seed.
+ * Параметры запуска описаны в {@link LoadOptions}.
+ *
+ * <p>Пример запуска:
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.okvedTest.Load.LoadTest \
+ *     -Dexec.args="--dictionary okved.json --threads 4 --duration 30"
+ * </pre>
+ */
+public class LoadTest {
+
+    private final OkvedMatcher matcher;
+
+    /**
+     * Создаём нагрузочный тест со стандартным поиском ОКВЭД.
+     */
+    public LoadTest() {
+        this(new OkvedMatcher());
+    }
+
+    /**
+     * Создаём нагрузочный тест с заданным поиском ОКВЭД (например, для внедрения сбоев в тестах).
+     *
+     * @param matcher поиск ОКВЭД, общий для всех рабочих потоков
+     */
+    public LoadTest(OkvedMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    public static void main(String[] args) {
+        try {
+            LoadOptions options = LoadOptions.parse(args);
+            new LoadTest().run(options);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ошибка параметров: " + e.getMessage());
+        } catch (OkvedLoadException e) {
+            System.err.println("Ошибка загрузки ОКВЭД: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Нагрузочный тест прерван.");
+        } catch (Exception e) {
+            System.err.println("Неожиданная ошибка выполнения нагрузочного теста.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Выполняем нагрузочный тест и выводим отчёт.
+     *
+     * @param options параметры теста
+     * @throws OkvedLoadException    если не удалось загрузить справочник
+     * @throws InterruptedException  если ожидание рабочих потоков прервано
+     * @throws IllegalStateException если рабочий поток завершился с ошибкой
+     */
+    public void run(LoadOptions options) throws OkvedLoadException, InterruptedException {
+        OkvedData okvedData = new OkvedLoader().loadFromPath(options.getDictionary());
+        PhoneNormalizer normalizer = new PhoneNormalizer();
+
+        int threadCount = options.getThreads();
+        long intervalNanos = options.getRate() > 0
+                ? Math.max(1, TimeUnit.SECONDS.toNanos(threadCount) / options.getRate())
+                : 0;
+
+        GcPauseMonitor gc = new GcPauseMonitor();
+        long[] measureStart = new long[1];
+        Phaser barrier = new Phaser(threadCount) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                gc.start();
+                measureStart[0] = System.nanoTime();
+                // Замер начинается один раз; дальнейшие прибытия не ожидаются
+                return true;
+            }
+        };
+
+        LoadWorker[] workers = new LoadWorker[threadCount];
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            PhoneInputGenerator generator = new PhoneInputGenerator(options.getMix(), options.getSeed() + i);
+            workers[i] = new LoadWorker(
+                    generator,
+                    normalizer,
+                    matcher,
+                    okvedData,
+                    intervalNanos,
+                    TimeUnit.SECONDS.toNanos(options.getWarmupSeconds()),
+                    TimeUnit.SECONDS.toNanos(options.getDurationSeconds()),
+                    barrier,
+                    () -> measureStart[0]
+            );
+            threads[i] = new Thread(workers[i], "load-worker-" + i);
+        }
+
+        System.out.printf("Справочник: %d записей. Прогрев %d с, замер %d с...%n",
+                okvedData.size(), options.getWarmupSeconds(), options.getDurationSeconds());
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedNanos = System.nanoTime() - measureStart[0];
+        gc.stop();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        long invalidCount = 0;
+        long allocatedBytes = 0;
+        for (LoadWorker worker : workers) {
+            if (worker.getFailure() != null) {
+                throw new IllegalStateException("Рабочий поток завершился с ошибкой.", worker.getFailure());
+            }
+            histogram.add(worker.getHistogram());
+            invalidCount += worker.getInvalidCount();
+            allocatedBytes = allocatedBytes >= 0 && worker.getAllocatedBytes() >= 0
+                    ? allocatedBytes + worker.getAllocatedBytes()
+                    : -1;
+        }
+
+        new LoadReport().print(options, histogram, invalidCount, elapsedNanos, allocatedBytes, gc);
+    }
+}
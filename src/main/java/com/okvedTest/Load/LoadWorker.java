@@ -0,0 +1,205 @@
+package com.okvedTest.Load;
+
+import com.okvedTest.Exception.PhoneNormalizationException;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.PhoneNormalizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Рабочий поток нагрузочного теста.
+ *
+ * <p>Прогоняем заранее сгенерированные номера через {@link PhoneNormalizer}
+ * и {@link OkvedMatcher}: сначала прогрев без записи результатов, затем,
+ * после общей точки синхронизации ({@link Phaser}), замер. При заданной частоте задержка отсчитывается
+ * от запланированного момента операции, поэтому отставание от графика
+ * попадает в перцентили.
+ */
+class LoadWorker implements Runnable {
+
+    /**
+     * Размер пула входных номеров на поток (степень двойки).
+     */
+    private static final int INPUT_POOL_SIZE = 1 << 16;
+
+    private final String[] inputs;
+
+    private final PhoneNormalizer normalizer;
+
+    private final OkvedMatcher matcher;
+
+    private final OkvedData okvedData;
+
+    /**
+     * Интервал между операциями потока; 0 — без ограничения частоты.
+     */
+    private final long intervalNanos;
+
+    private final long warmupNanos;
+
+    private final long durationNanos;
+
+    /**
+     * Точка начала замера: поток прибывает после прогрева или снимается с регистрации при ошибке.
+     */
+    private final Phaser measurePhaser;
+
+    private final LongSupplier measureStart;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private long invalidCount;
+
+    private long allocatedBytes = -1;
+
+    private volatile Throwable failure;
+
+    /**
+     * Сумма длин совпадений; не даёт JIT выбросить вызов сопоставления.
+     */
+    private long matchLengthSum;
+
+    LoadWorker(PhoneInputGenerator generator,
+               PhoneNormalizer normalizer,
+               OkvedMatcher matcher,
+               OkvedData okvedData,
+               long intervalNanos,
+               long warmupNanos,
+               long durationNanos,
+               Phaser measurePhaser,
+               LongSupplier measureStart) {
+        this.inputs = new String[INPUT_POOL_SIZE];
+        for (int i = 0; i < INPUT_POOL_SIZE; i++) {
+            inputs[i] = generator.next();
+        }
+        this.normalizer = normalizer;
+        this.matcher = matcher;
+        this.okvedData = okvedData;
+        this.intervalNanos = intervalNanos;
+        this.warmupNanos = warmupNanos;
+        this.durationNanos = durationNanos;
+        this.measurePhaser = measurePhaser;
+        this.measureStart = measureStart;
+    }
+
+    @Override
+    public void run() {
+        boolean arrived = false;
+        try {
+            runPhase(System.nanoTime(), warmupNanos, null);
+            arrived = true;
+            measurePhaser.arriveAndAwaitAdvance();
+
+            com.sun.management.ThreadMXBean threads = allocationBean();
+            long allocatedBefore = threads != null ? threads.getCurrentThreadAllocatedBytes() : -1;
+
+            runPhase(measureStart.getAsLong(), durationNanos, histogram);
+
+            if (threads != null) {
+                allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            }
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            // Не задерживаем остальные потоки: без этого они ждали бы упавший поток вечно
+            if (!arrived) {
+                measurePhaser.arriveAndDeregister();
+            }
+        }
+    }
+
+    /**
+     * Выполняем операции до истечения фазы.
+     *
+     * @param start     начало фазы по {@link System#nanoTime()}
+     * @param length    длительность фазы
+     * @param recording гистограмма для записи задержек; null — фаза прогрева
+     */
+    private void runPhase(long start, long length, LatencyHistogram recording) {
+        long deadline = start + length;
+        long scheduled = start;
+        int index = 0;
+
+        while (true) {
+            long operationStart;
+            if (intervalNanos > 0) {
+                scheduled += intervalNanos;
+                if (scheduled >= deadline) {
+                    return;
+                }
+                waitUntil(scheduled);
+                operationStart = scheduled;
+            } else {
+                operationStart = System.nanoTime();
+                if (operationStart >= deadline) {
+                    return;
+                }
+            }
+
+            process(inputs[index], recording != null);
+            index = (index + 1) & (INPUT_POOL_SIZE - 1);
+
+            if (recording != null) {
+                recording.record(System.nanoTime() - operationStart);
+            }
+        }
+    }
+
+    private void process(String input, boolean counting) {
+        try {
+            String normalizedPhone = normalizer.normalize(input);
+            matchLengthSum += matcher.findBestMatch(normalizedPhone, okvedData).getMatchLength();
+        } catch (PhoneNormalizationException e) {
+            if (counting) {
+                invalidCount++;
+            }
+        }
+    }
+
+    private static void waitUntil(long target) {
+        long remaining;
+        while ((remaining = target - System.nanoTime()) > 0) {
+            if (remaining > 50_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    long getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Возвращаем объём памяти, выделенной потоком за время замера.
+     *
+     * @return байты; -1, если JVM не поддерживает учёт аллокаций
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    Throwable getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,151 @@
+package com.okvedTest.Load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор синтетических «сырых» телефонных номеров для нагрузочного теста.
+ *
+ * <p>Номера выдаются в нескольких форматах с заданными весами:
+ * <ul>
+ *   <li>{@code +7 (9xx) xxx-xx-xx}</li>
+ *   <li>{@code 8 9xx xxx xx xx}</li>
+ *   <li>{@code 9xxxxxxxxx} (10 цифр)</li>
+ *   <li>заведомо некорректные номера</li>
+ * </ul>
+ * При одинаковом seed последовательность номеров воспроизводима.
+ * Экземпляр не потокобезопасен: каждому потоку нужен свой генератор.
+ */
+public class PhoneInputGenerator {
+
+    /**
+     * Формат генерируемого номера.
+     */
+    public enum Format {
+        PLUS7("plus7"),
+        EIGHT("eight"),
+        TEN_DIGITS("ten"),
+        INVALID("invalid");
+
+        private final String key;
+
+        Format(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Возвращаем короткое имя формата для параметра {@code --mix}.
+         *
+         * @return имя формата
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Находим формат по короткому имени.
+         *
+         * @param key имя формата
+         * @return формат
+         * @throws IllegalArgumentException если формат неизвестен
+         */
+        public static Format fromKey(String key) {
+            for (Format format : values()) {
+                if (format.key.equals(key)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Неизвестный формат номера: " + key);
+        }
+    }
+
+    private final Format[] formats;
+
+    /**
+     * Накопленные веса форматов для выбора по случайному числу.
+     */
+    private final int[] cumulativeWeights;
+
+    private final int totalWeight;
+
+    private final SplittableRandom random;
+
+    /**
+     * Создаём генератор с заданными весами форматов.
+     *
+     * @param weights веса форматов (неотрицательные, хотя бы один положительный)
+     * @param seed    начальное значение генератора случайных чисел
+     * @throws IllegalArgumentException если веса некорректны
+     */
+    public PhoneInputGenerator(Map<Format, Integer> weights, long seed) {
+        Map<Format, Integer> ordered = new EnumMap<>(weights);
+        this.formats = new Format[ordered.size()];
+        this.cumulativeWeights = new int[ordered.size()];
+
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Format, Integer> entry : ordered.entrySet()) {
+            int weight = entry.getValue();
+            if (weight < 0) {
+                throw new IllegalArgumentException("Вес формата не может быть отрицательным: " + entry.getKey().getKey());
+            }
+            total += weight;
+            formats[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сумма весов форматов должна быть положительной.");
+        }
+
+        this.totalWeight = total;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Генерируем следующий номер.
+     *
+     * @return строка с номером в одном из форматов
+     */
+    public String next() {
+        int roll = random.nextInt(totalWeight);
+        int i = 0;
+        while (roll >= cumulativeWeights[i]) {
+            i++;
+        }
+
+        switch (formats[i]) {
+            case PLUS7:
+                return "+7 (9" + digits(2) + ") " + digits(3) + "-" + digits(2) + "-" + digits(2);
+            case EIGHT:
+                return "8 9" + digits(2) + " " + digits(3) + " " + digits(2) + " " + digits(2);
+            case TEN_DIGITS:
+                return "9" + digits(9);
+            default:
+                return invalid();
+        }
+    }
+
+    /**
+     * Генерируем некорректный номер: слишком короткий, городской или с чужим кодом страны.
+     */
+    private String invalid() {
+        switch (random.nextInt(3)) {
+            case 0:
+                return "+7 9" + digits(1 + random.nextInt(7));
+            case 1:
+                return "+7 (495) " + digits(3) + "-" + digits(2) + "-" + digits(2);
+            default:
+                return "+1 9" + digits(2) + " " + digits(7);
+        }
+    }
+
+    private String digits(int count) {
+        char[] chars = new char[count];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,78 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.Classifier.Classifier;
+import com.okvedTest.Classifier.ClassifierEntry;
+import com.okvedTest.Classifier.ReferenceEntry;
+import com.okvedTest.Exception.OkvedLoadException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Класс для загрузки справочников-классификаторов.
+ *
+ * <p>Справочники должны иметь формат {@code okved.json}: массив объектов с полями
+ * {@code code}, {@code name} и вложенными {@code items}. Разбор выполняет
+ * {@link OkvedLoader}; записи справочника {@link Classifier#OKVED} создаются
+ * как {@link OkvedEntry}, остальных — как {@link ReferenceEntry}.
+ */
+public class ClassifierLoader {
+
+    private final OkvedLoader loader;
+
+    /**
+     * Создаём новый загрузчик справочников.
+     */
+    public ClassifierLoader() {
+        this.loader = new OkvedLoader();
+    }
+
+    /**
+     * Загружаем справочник из локального файла.
+     *
+     * @param id   идентификатор справочника
+     * @param path путь к JSON-файлу
+     * @return справочник
+     * @throws OkvedLoadException если файл недоступен или содержит некорректные данные
+     */
+    public Classifier loadFromPath(String id, Path path) throws OkvedLoadException {
+        return new Classifier(id, loader.loadEntriesFromPath(path, id, entryFactory(id)));
+    }
+
+    /**
+     * Загружаем справочник по указанному URL.
+     *
+     * @param id        идентификатор справочника
+     * @param urlString URL для загрузки JSON-файла
+     * @return справочник
+     * @throws OkvedLoadException если произошла ошибка загрузки или парсинга
+     */
+    public Classifier loadFromUrl(String id, String urlString) throws OkvedLoadException {
+        return new Classifier(id, loader.loadEntriesFromUrl(urlString, id, entryFactory(id)));
+    }
+
+    /**
+     * Загружаем несколько справочников из локальных файлов.
+     *
+     * @param paths пути к JSON-файлам по идентификатору справочника
+     * @return справочники в порядке обхода {@code paths}
+     * @throws OkvedLoadException если хотя бы один справочник не удалось загрузить
+     */
+    public List<Classifier> loadAllFromPaths(Map<String, Path> paths) throws OkvedLoadException {
+        List<Classifier> classifiers = new ArrayList<>(paths.size());
+        for (Map.Entry<String, Path> source : paths.entrySet()) {
+            classifiers.add(loadFromPath(source.getKey(), source.getValue()));
+        }
+        return classifiers;
+    }
+
+    private static BiFunction<String, String, ? extends ClassifierEntry> entryFactory(String id) {
+        if (Classifier.OKVED.equals(id)) {
+            return OkvedEntry::new;
+        }
+        return ReferenceEntry::new;
+    }
+}
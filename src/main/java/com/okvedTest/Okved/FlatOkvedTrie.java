@@ -0,0 +1,142 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.Classifier.SuffixIndex;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Дерево по окончанию кода ОКВЭД в плоских массивах для пакетного поиска
+ * {@link OkvedMatcher#findBestMatches(long[], FlatOkvedTrie, int[], int[])}.
+ *
+ * <p>Содержит то же дерево, что и {@link OkvedSuffixIndex}, но узлы пронумерованы
+ * обходом в ширину и хранятся в массивах {@code int}: {@code children[node * 10 + digit]} —
+ * номер дочернего узла (0 — нет, корень не бывает дочерним), {@code best[node]} —
+ * порядковый номер лучшей записи поддерева. Номер передаётся числом, его цифры
+ * снимаются с конца делением на 10, поэтому поиск проходит не больше 10 узлов
+ * и не создаёт объектов.
+ *
+ * <p>Экземпляр неизменяем и потокобезопасен.
+ */
+public final class FlatOkvedTrie {
+
+    /**
+     * Количество цифр номера после {@code +7}.
+     */
+    static final int PHONE_DIGITS = 10;
+
+    /**
+     * Максимальное значение номера в упакованном виде (10 цифр).
+     */
+    static final long MAX_PHONE = 9_999_999_999L;
+
+    private static final int RADIX = 10;
+
+    private final int[] children;
+
+    private final int[] best;
+
+    /**
+     * Резервная запись: первая с минимальной длиной цифровой части.
+     */
+    private final int fallback;
+
+    private final int size;
+
+    private FlatOkvedTrie(int[] children, int[] best, int fallback, int size) {
+        this.children = children;
+        this.best = best;
+        this.fallback = fallback;
+        this.size = size;
+    }
+
+    /**
+     * Строим плоское дерево справочника.
+     *
+     * @param okvedData данные справочника ОКВЭД
+     * @return дерево; порядковые номера совпадают с {@code okvedData.getEntries()}
+     */
+    public static FlatOkvedTrie of(OkvedData okvedData) {
+        List<OkvedEntry> entries = okvedData.getEntries();
+        Map<OkvedEntry, Integer> ordinals = new IdentityHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            ordinals.putIfAbsent(entries.get(i), i);
+        }
+
+        SuffixIndex.Node<OkvedEntry> root = SuffixIndex.build(entries).root();
+        int capacity = 1024;
+        int[] children = new int[capacity * RADIX];
+        int[] best = new int[capacity];
+        int nodeCount = 1;
+
+        // Узлы нумеруются в порядке обхода в ширину: номер узла — его позиция в очереди
+        ArrayDeque<SuffixIndex.Node<OkvedEntry>> queue = new ArrayDeque<>();
+        queue.add(root);
+        for (int node = 0; !queue.isEmpty(); node++) {
+            SuffixIndex.Node<OkvedEntry> current = queue.poll();
+            best[node] = ordinals.get(current.longest());
+            for (int digit = 0; digit < RADIX; digit++) {
+                SuffixIndex.Node<OkvedEntry> child = current.child(digit);
+                if (child == null) {
+                    continue;
+                }
+                if (nodeCount == capacity) {
+                    capacity *= 2;
+                    children = Arrays.copyOf(children, capacity * RADIX);
+                    best = Arrays.copyOf(best, capacity);
+                }
+                children[node * RADIX + digit] = nodeCount++;
+                queue.add(child);
+            }
+        }
+
+        return new FlatOkvedTrie(
+                Arrays.copyOf(children, nodeCount * RADIX),
+                Arrays.copyOf(best, nodeCount),
+                ordinals.get(root.shortest()),
+                entries.size());
+    }
+
+    /**
+     * Возвращаем количество кодов.
+     *
+     * @return количество записей справочника
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Находим лучшую запись для каждого номера.
+     *
+     * <p>Выбор совпадает с {@link OkvedSuffixIndex}: узел, на котором остановился
+     * спуск по цифрам номера с конца, хранит лучшую запись для этой длины совпадения;
+     * номер без совпадений получает резервную запись.
+     *
+     * @param phones       номера (цифры после {@code +7} как число), проверенные вызывающим
+     * @param ordinals     массив для порядковых номеров найденных записей
+     * @param matchLengths массив для длин совпадения
+     */
+    void match(long[] phones, int[] ordinals, int[] matchLengths) {
+        int[] children = this.children;
+        for (int i = 0; i < phones.length; i++) {
+            long phone = phones[i];
+            int node = 0;
+            int depth = 0;
+            while (depth < PHONE_DIGITS) {
+                int child = children[node * RADIX + (int) (phone % RADIX)];
+                if (child == 0) {
+                    break;
+                }
+                node = child;
+                phone /= RADIX;
+                depth++;
+            }
+            ordinals[i] = depth == 0 ? fallback : best[node];
+            matchLengths[i] = depth;
+        }
+    }
+}
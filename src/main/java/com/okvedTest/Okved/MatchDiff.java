@@ -0,0 +1,63 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.BestMatchResult;
+
+/**
+ * Расхождение результатов поиска ОКВЭД для одного номера в двух версиях справочника.
+ *
+ * @see VersionedOkvedStore#diffResults(String, String, java.util.List)
+ */
+public class MatchDiff {
+
+    private final String normalizedPhone;
+
+    private final BestMatchResult fromResult;
+
+    private final BestMatchResult toResult;
+
+    /**
+     * Создаём описание расхождения.
+     *
+     * @param normalizedPhone нормализованный номер
+     * @param fromResult      результат в исходной версии
+     * @param toResult        результат в сравниваемой версии
+     */
+    public MatchDiff(String normalizedPhone, BestMatchResult fromResult, BestMatchResult toResult) {
+        this.normalizedPhone = normalizedPhone;
+        this.fromResult = fromResult;
+        this.toResult = toResult;
+    }
+
+    /**
+     * Возвращаем нормализованный номер.
+     *
+     * @return номер в формате {@code +79XXXXXXXXX}
+     */
+    public String getNormalizedPhone() {
+        return normalizedPhone;
+    }
+
+    /**
+     * Возвращаем результат в исходной версии.
+     *
+     * @return результат поиска
+     */
+    public BestMatchResult getFromResult() {
+        return fromResult;
+    }
+
+    /**
+     * Возвращаем результат в сравниваемой версии.
+     *
+     * @return результат поиска
+     */
+    public BestMatchResult getToResult() {
+        return toResult;
+    }
+
+    @Override
+    public String toString() {
+        return normalizedPhone + ": " + fromResult.getEntry() + " (" + fromResult.getMatchLength() + ") -> "
+                + toResult.getEntry() + " (" + toResult.getMatchLength() + ")";
+    }
+}
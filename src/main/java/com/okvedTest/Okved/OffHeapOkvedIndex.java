@@ -0,0 +1,423 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Classifier.SuffixIndex;
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Jfr.OkvedIndexBuildEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индекс поиска ОКВЭД, упакованный в буфер вне кучи Java.
+ *
+ * <p>Содержит то же дерево, что и {@link OkvedSuffixIndex}, но узлы и записи
+ * хранятся в прямом ({@link ByteBuffer#allocateDirect(int)}) или отображённом
+ * в память буфере. Узлы дерева — основная часть индекса — остаются вне кучи,
+ * поэтому размер кучи и время пауз GC почти не зависят от размера справочника.
+ * Записи тоже остаются в буфере и декодируются только при попадании в результат
+ * поиска; недавно найденные записи хранятся в небольшом кэше из
+ * {@value #CACHE_SIZE} ячеек, поэтому частые коды не декодируются повторно.
+ *
+ * <p>Формат буфера (little-endian):
+ * <pre>
+ * заголовок: magic, версия формата, число узлов, число записей, резервная запись
+ * узлы:      10 × int (индекс дочернего узла или -1), int (лучшая запись поддерева)
+ * записи:    int (смещение строк), int × 3 (длины кода, названия и цифр в байтах UTF-8)
+ * строки:    код, название и цифры кода подряд
+ * </pre>
+ *
+ * <p>При открытии проверяем заголовок, ссылки узлов и границы записей, поэтому
+ * обрезанный или повреждённый файл отклоняется с {@link OkvedLoadException},
+ * а не падает при поиске.
+ *
+ * <p>Экземпляр потокобезопасен: буфер читается только по абсолютным смещениям,
+ * а ячейки кэша содержат неизменяемые объекты, поэтому гонка при их записи
+ * приводит лишь к повторному декодированию.
+ */
+public final class OffHeapOkvedIndex {
+
+    private static final int MAGIC = 0x4F4B5644;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int RADIX = 10;
+
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private static final int NODE_BYTES = (RADIX + 1) * Integer.BYTES;
+
+    private static final int ENTRY_BYTES = 4 * Integer.BYTES;
+
+    private static final int NO_CHILD = -1;
+
+    /**
+     * Количество ячеек кэша декодированных записей.
+     */
+    static final int CACHE_SIZE = 256;
+
+    private final ByteBuffer buffer;
+
+    private final int entriesOffset;
+
+    private final int stringsOffset;
+
+    private final int fallbackEntry;
+
+    /**
+     * Кэш декодированных записей; запись с номером {@code n} хранится в ячейке {@code n % CACHE_SIZE}.
+     */
+    private final CachedEntry[] cache;
+
+    private OffHeapOkvedIndex(ByteBuffer buffer) throws OkvedLoadException {
+        long capacity = buffer.capacity();
+        if (capacity < HEADER_BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new OkvedLoadException("Некорректный формат упакованного индекса ОКВЭД.");
+        }
+        int nodeCount = buffer.getInt(2 * Integer.BYTES);
+        int entryCount = buffer.getInt(3 * Integer.BYTES);
+        int fallback = buffer.getInt(4 * Integer.BYTES);
+
+        // Смещения считаем в long: произведение из повреждённого заголовка может переполнить int
+        long entriesOffset = HEADER_BYTES + (long) nodeCount * NODE_BYTES;
+        long stringsOffset = entriesOffset + (long) entryCount * ENTRY_BYTES;
+        if (nodeCount <= 0 || entryCount <= 0 || fallback < 0 || fallback >= entryCount
+                || stringsOffset > capacity) {
+            throw corrupted("заголовок не соответствует размеру " + capacity + " байт");
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            int offset = nodeOffset(node);
+            for (int digit = 0; digit < RADIX; digit++) {
+                int child = buffer.getInt(offset + digit * Integer.BYTES);
+                // Узлы записаны обходом в ширину: дочерний узел всегда идёт после родителя
+                if (child != NO_CHILD && (child <= node || child >= nodeCount)) {
+                    throw corrupted("узел " + node + " ссылается на узел " + child);
+                }
+            }
+            int entry = buffer.getInt(offset + RADIX * Integer.BYTES);
+            if (entry < 0 || entry >= entryCount) {
+                throw corrupted("узел " + node + " ссылается на запись " + entry);
+            }
+        }
+
+        for (int entry = 0; entry < entryCount; entry++) {
+            checkEntry(buffer, (int) entriesOffset + entry * ENTRY_BYTES, stringsOffset, entry);
+        }
+
+        this.buffer = buffer;
+        this.entriesOffset = (int) entriesOffset;
+        this.stringsOffset = (int) stringsOffset;
+        this.fallbackEntry = fallback;
+        this.cache = new CachedEntry[Math.min(entryCount, CACHE_SIZE)];
+    }
+
+    /**
+     * Упаковываем индекс в прямой буфер вне кучи.
+     *
+     * @param index индекс справочника ОКВЭД
+     * @return упакованный индекс
+     * @throws IllegalArgumentException если индекс пуст
+     */
+    public static OffHeapOkvedIndex build(OkvedSuffixIndex index) {
+        Layout layout = new Layout(index);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(layout.totalBytes);
+        layout.write(buffer);
+        try {
+            return new OffHeapOkvedIndex(buffer);
+        } catch (OkvedLoadException e) {
+            throw new IllegalStateException("Ошибка упаковки индекса ОКВЭД.", e);
+        }
+    }
+
+    /**
+     * Упаковываем индекс в файл и отображаем его в память.
+     *
+     * <p>Файл можно повторно открыть через {@link #open(Path)} без построения индекса.
+     *
+     * @param index индекс справочника ОКВЭД
+     * @param file  путь к файлу (перезаписывается)
+     * @return упакованный индекс
+     * @throws OkvedLoadException если файл не удалось записать
+     */
+    public static OffHeapOkvedIndex build(OkvedSuffixIndex index, Path file) throws OkvedLoadException {
+        Layout layout = new Layout(index);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.totalBytes);
+            layout.write(buffer);
+            return new OffHeapOkvedIndex(buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN));
+        } catch (IOException e) {
+            throw new OkvedLoadException("Ошибка записи индекса ОКВЭД в " + file, e);
+        }
+    }
+
+    /**
+     * Открываем ранее записанный индекс, отображая файл в память.
+     *
+     * @param file путь к файлу индекса
+     * @return упакованный индекс
+     * @throws OkvedLoadException если файл недоступен или имеет неверный формат
+     */
+    public static OffHeapOkvedIndex open(Path file) throws OkvedLoadException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OffHeapOkvedIndex(buffer.order(ByteOrder.LITTLE_ENDIAN));
+        } catch (IOException e) {
+            throw new OkvedLoadException("Ошибка чтения индекса ОКВЭД из " + file, e);
+        }
+    }
+
+    /**
+     * Возвращаем размер упакованного индекса.
+     *
+     * @return размер в байтах
+     */
+    public int sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Находим запись с максимальным совпадением по окончанию цифр номера.
+     *
+     * @param phoneDigits цифры номера без префикса {@code +7}
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     */
+    BestMatchResult findBestMatch(String phoneDigits) {
+        int node = 0;
+        int depth = 0;
+        int length = phoneDigits.length();
+        while (depth < length) {
+            int digit = phoneDigits.charAt(length - 1 - depth) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                break;
+            }
+            int child = buffer.getInt(nodeOffset(node) + digit * Integer.BYTES);
+            if (child == NO_CHILD) {
+                break;
+            }
+            node = child;
+            depth++;
+        }
+
+        if (depth == 0) {
+            // Резервная стратегия: наиболее общий код
+            return new BestMatchResult(entry(fallbackEntry), 0);
+        }
+        return new BestMatchResult(entry(buffer.getInt(nodeOffset(node) + RADIX * Integer.BYTES)), depth);
+    }
+
+    /**
+     * Возвращаем запись по номеру, декодируя её из буфера при промахе кэша.
+     *
+     * @param id номер записи в буфере
+     * @return запись ОКВЭД
+     */
+    private OkvedEntry entry(int id) {
+        int slot = id % cache.length;
+        CachedEntry cached = cache[slot];
+        if (cached != null && cached.id == id) {
+            return cached.entry;
+        }
+
+        int offset = entriesOffset + id * ENTRY_BYTES;
+        int position = stringsOffset + buffer.getInt(offset);
+        int codeLength = buffer.getInt(offset + Integer.BYTES);
+        int nameLength = buffer.getInt(offset + 2 * Integer.BYTES);
+        byte[] bytes = new byte[codeLength + nameLength];
+        buffer.get(position, bytes, 0, bytes.length);
+        OkvedEntry entry = new OkvedEntry(
+                new String(bytes, 0, codeLength, StandardCharsets.UTF_8),
+                new String(bytes, codeLength, nameLength, StandardCharsets.UTF_8)
+        );
+        cache[slot] = new CachedEntry(id, entry);
+        return entry;
+    }
+
+    private static int nodeOffset(int node) {
+        return HEADER_BYTES + node * NODE_BYTES;
+    }
+
+    /**
+     * Проверяем запись в буфере, не декодируя строки.
+     *
+     * <p>Код и название должны быть непустыми, а цифры — совпадать с цифрами кода:
+     * в UTF-8 байты {@code '0'..'9'} не встречаются внутри многобайтовых символов,
+     * поэтому цифры кода можно выбрать прямо из байтов.
+     *
+     * @param buffer        буфер индекса
+     * @param offset        смещение описания записи
+     * @param stringsOffset смещение области строк
+     * @param entry         номер записи для сообщения об ошибке
+     * @throws OkvedLoadException если строки записи выходят за буфер или некорректны
+     */
+    private static void checkEntry(ByteBuffer buffer, int offset, long stringsOffset, int entry)
+            throws OkvedLoadException {
+        int position = buffer.getInt(offset);
+        int codeLength = buffer.getInt(offset + Integer.BYTES);
+        int nameLength = buffer.getInt(offset + 2 * Integer.BYTES);
+        int digitsLength = buffer.getInt(offset + 3 * Integer.BYTES);
+        long end = stringsOffset + position + (long) codeLength + nameLength + digitsLength;
+        if (position < 0 || codeLength < 0 || nameLength < 0 || digitsLength < 0 || end > buffer.capacity()) {
+            throw corrupted("строки записи " + entry + " выходят за границы файла");
+        }
+        if (codeLength == 0 || nameLength == 0) {
+            throw corrupted("запись " + entry + " некорректна");
+        }
+
+        int code = (int) stringsOffset + position;
+        int digits = code + codeLength + nameLength;
+        int matched = 0;
+        for (int i = 0; i < codeLength; i++) {
+            byte b = buffer.get(code + i);
+            if (b >= '0' && b <= '9') {
+                if (matched == digitsLength || buffer.get(digits + matched) != b) {
+                    throw corrupted("цифры записи " + entry + " не совпадают с кодом");
+                }
+                matched++;
+            }
+        }
+        if (matched != digitsLength) {
+            throw corrupted("цифры записи " + entry + " не совпадают с кодом");
+        }
+    }
+
+    private static OkvedLoadException corrupted(String reason) {
+        return new OkvedLoadException("Повреждён упакованный индекс ОКВЭД: " + reason + ".");
+    }
+
+    /**
+     * Декодированная запись в ячейке кэша вместе с её номером.
+     */
+    private static final class CachedEntry {
+
+        final int id;
+
+        final OkvedEntry entry;
+
+        CachedEntry(int id, OkvedEntry entry) {
+            this.id = id;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Раскладка дерева {@link OkvedSuffixIndex} в буфере.
+     *
+     * <p>Узлы нумеруются обходом в ширину (корень — 0); в буфер попадают только
+     * записи, которые могут быть результатом поиска.
+     */
+    private static final class Layout {
+
+        private final List<SuffixIndex.Node<OkvedEntry>> nodes = new ArrayList<>();
+
+        private final Map<OkvedEntry, Integer> entryIds = new IdentityHashMap<>();
+
+        private final List<byte[][]> entryBytes = new ArrayList<>();
+
+        private final int fallbackEntry;
+
+        final int totalBytes;
+
+        Layout(OkvedSuffixIndex index) {
+            SuffixIndex.Node<OkvedEntry> root = index.root();
+            if (root == null) {
+                throw new IllegalArgumentException("Справочник ОКВЭД не содержит записей.");
+            }
+
+            OkvedIndexBuildEvent event = new OkvedIndexBuildEvent();
+            event.begin();
+
+            this.fallbackEntry = entryId(root.shortest());
+            ArrayDeque<SuffixIndex.Node<OkvedEntry>> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                SuffixIndex.Node<OkvedEntry> node = queue.poll();
+                nodes.add(node);
+                entryId(node.longest());
+                for (int digit = 0; digit < RADIX; digit++) {
+                    SuffixIndex.Node<OkvedEntry> child = node.child(digit);
+                    if (child != null) {
+                        queue.add(child);
+                    }
+                }
+            }
+
+            int stringBytes = 0;
+            for (byte[][] parts : entryBytes) {
+                stringBytes += parts[0].length + parts[1].length + parts[2].length;
+            }
+            this.totalBytes = HEADER_BYTES + nodes.size() * NODE_BYTES + entryBytes.size() * ENTRY_BYTES + stringBytes;
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.indexType = "off-heap";
+                event.entryCount = entryBytes.size();
+                event.commit();
+            }
+        }
+
+        private int entryId(OkvedEntry entry) {
+            Integer id = entryIds.get(entry);
+            if (id == null) {
+                id = entryBytes.size();
+                entryIds.put(entry, id);
+                entryBytes.add(new byte[][]{
+                        entry.getCode().getBytes(StandardCharsets.UTF_8),
+                        entry.getName().getBytes(StandardCharsets.UTF_8),
+                        entry.getDigitsOnly().getBytes(StandardCharsets.US_ASCII)
+                });
+            }
+            return id;
+        }
+
+        void write(ByteBuffer buffer) {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(nodes.size())
+                    .putInt(entryBytes.size())
+                    .putInt(fallbackEntry);
+
+            // Узлы идут в том же порядке обхода в ширину, поэтому индекс дочернего
+            // узла — это номер его появления в очереди
+            int nextChild = 1;
+            for (SuffixIndex.Node<OkvedEntry> node : nodes) {
+                for (int digit = 0; digit < RADIX; digit++) {
+                    boolean present = node.child(digit) != null;
+                    buffer.putInt(present ? nextChild++ : NO_CHILD);
+                }
+                buffer.putInt(entryIds.get(node.longest()));
+            }
+
+            int stringOffset = 0;
+            for (byte[][] parts : entryBytes) {
+                buffer.putInt(stringOffset)
+                        .putInt(parts[0].length)
+                        .putInt(parts[1].length)
+                        .putInt(parts[2].length);
+                stringOffset += parts[0].length + parts[1].length + parts[2].length;
+            }
+
+            for (byte[][] parts : entryBytes) {
+                buffer.put(parts[0]).put(parts[1]).put(parts[2]);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.okvedTest.Okved;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Разница между двумя версиями справочника ОКВЭД на уровне записей.
+ *
+ * <p>Записи сопоставляются по коду: совпадающий код с тем же названием считается
+ * неизменённым, с другим названием — переименованным, код только в новой версии —
+ * добавленным, только в старой — удалённым. Повторяющиеся коды сопоставляются
+ * в порядке следования.
+ *
+ * <p>Для сохранения порядка записей (он влияет на выбор среди равноценных кодов)
+ * каждой записи назначается ранг. Неизменённые и переименованные записи сохраняют
+ * ранг из старой версии, добавленные получают ранг между соседями. Если порядок
+ * сопоставленных записей в новой версии изменился или между соседями не осталось
+ * свободных рангов, {@link #isOrderPreserved()} возвращает false и индекс
+ * нужно перестроить целиком.
+ */
+public final class OkvedDelta {
+
+    /**
+     * Шаг рангов при полном построении; оставляет место для вставок между записями.
+     */
+    public static final long RANK_STEP = 1L << 20;
+
+    /**
+     * Изменение одной записи.
+     */
+    public static final class Change {
+
+        private final OkvedEntry oldEntry;
+
+        private final OkvedEntry newEntry;
+
+        private final long rank;
+
+        Change(OkvedEntry oldEntry, OkvedEntry newEntry, long rank) {
+            this.oldEntry = oldEntry;
+            this.newEntry = newEntry;
+            this.rank = rank;
+        }
+
+        /**
+         * Возвращаем запись в старой версии.
+         *
+         * @return старая запись; null для добавленной
+         */
+        public OkvedEntry getOldEntry() {
+            return oldEntry;
+        }
+
+        /**
+         * Возвращаем запись в новой версии.
+         *
+         * @return новая запись; null для удалённой
+         */
+        public OkvedEntry getNewEntry() {
+            return newEntry;
+        }
+
+        /**
+         * Возвращаем ранг записи, определяющий её порядок среди остальных.
+         *
+         * @return ранг
+         */
+        public long getRank() {
+            return rank;
+        }
+    }
+
+    private final List<Change> removed;
+
+    private final List<Change> renamed;
+
+    private final List<Change> added;
+
+    /**
+     * Записи новой версии; неизменённые записи взяты из старой версии.
+     */
+    private final List<OkvedEntry> targetEntries;
+
+    /**
+     * Ранги записей новой версии (параллельно {@link #targetEntries}).
+     */
+    private final long[] targetRanks;
+
+    private final boolean orderPreserved;
+
+    private OkvedDelta(List<Change> removed,
+                       List<Change> renamed,
+                       List<Change> added,
+                       List<OkvedEntry> targetEntries,
+                       long[] targetRanks,
+                       boolean orderPreserved) {
+        this.removed = Collections.unmodifiableList(removed);
+        this.renamed = Collections.unmodifiableList(renamed);
+        this.added = Collections.unmodifiableList(added);
+        this.targetEntries = Collections.unmodifiableList(targetEntries);
+        this.targetRanks = targetRanks;
+        this.orderPreserved = orderPreserved;
+    }
+
+    /**
+     * Возвращаем ранги для справочника, построенного целиком.
+     *
+     * @param size количество записей
+     * @return ранги {@code i * RANK_STEP}
+     */
+    public static long[] initialRanks(int size) {
+        long[] ranks = new long[size];
+        for (int i = 0; i < size; i++) {
+            ranks[i] = i * RANK_STEP;
+        }
+        return ranks;
+    }
+
+    /**
+     * Вычисляем разницу между версиями справочника.
+     *
+     * @param from      записи старой версии
+     * @param fromRanks ранги записей старой версии (возрастают вместе с позицией)
+     * @param to        записи новой версии
+     * @return разница между версиями
+     * @throws IllegalArgumentException если размеры {@code from} и {@code fromRanks} различаются
+     */
+    public static OkvedDelta compute(List<OkvedEntry> from, long[] fromRanks, List<OkvedEntry> to) {
+        if (from.size() != fromRanks.length) {
+            throw new IllegalArgumentException("Количество рангов не совпадает с количеством записей.");
+        }
+
+        // Позиции записей старой версии по коду: первая позиция и цепочка следующих с тем же кодом
+        Map<String, Integer> firstPositions = new HashMap<>(from.size() * 2);
+        int[] nextSameCode = new int[from.size()];
+        int[] lastSameCode = new int[from.size()];
+        for (int i = 0; i < from.size(); i++) {
+            nextSameCode[i] = -1;
+            Integer first = firstPositions.putIfAbsent(from.get(i).getCode(), i);
+            if (first == null) {
+                lastSameCode[i] = i;
+            } else {
+                nextSameCode[lastSameCode[first]] = i;
+                lastSameCode[first] = i;
+            }
+        }
+
+        boolean[] matched = new boolean[from.size()];
+        List<OkvedEntry> targetEntries = new ArrayList<>(to.size());
+        long[] targetRanks = new long[to.size()];
+        boolean[] isAdded = new boolean[to.size()];
+        List<Change> renamed = new ArrayList<>();
+        boolean orderPreserved = true;
+        long lastMatchedRank = Long.MIN_VALUE;
+        int lastMatchedPosition = -1;
+
+        for (int i = 0; i < to.size(); i++) {
+            OkvedEntry entry = to.get(i);
+            int position = match(firstPositions.get(entry.getCode()), nextSameCode, matched, lastMatchedPosition);
+            if (position < 0) {
+                isAdded[i] = true;
+                targetEntries.add(entry);
+                continue;
+            }
+
+            matched[position] = true;
+            lastMatchedPosition = Math.max(lastMatchedPosition, position);
+            long rank = fromRanks[position];
+            if (rank <= lastMatchedRank) {
+                orderPreserved = false;
+            }
+            lastMatchedRank = Math.max(lastMatchedRank, rank);
+            targetRanks[i] = rank;
+
+            OkvedEntry old = from.get(position);
+            if (old.getName().equals(entry.getName())) {
+                targetEntries.add(old);
+            } else {
+                targetEntries.add(entry);
+                renamed.add(new Change(old, entry, rank));
+            }
+        }
+
+        if (orderPreserved) {
+            orderPreserved = assignAddedRanks(isAdded, targetRanks);
+        }
+        if (!orderPreserved) {
+            targetRanks = initialRanks(to.size());
+        }
+
+        List<Change> added = new ArrayList<>();
+        for (int i = 0; i < to.size(); i++) {
+            if (isAdded[i]) {
+                added.add(new Change(null, targetEntries.get(i), targetRanks[i]));
+            }
+        }
+
+        List<Change> removed = new ArrayList<>();
+        for (int i = 0; i < from.size(); i++) {
+            if (!matched[i]) {
+                removed.add(new Change(from.get(i), null, fromRanks[i]));
+            }
+        }
+
+        return new OkvedDelta(removed, renamed, added, targetEntries, targetRanks, orderPreserved);
+    }
+
+    /**
+     * Назначаем ранги добавленным записям, равномерно распределяя их между соседями.
+     *
+     * @return false, если между соседями не хватает свободных рангов
+     */
+    private static boolean assignAddedRanks(boolean[] isAdded, long[] ranks) {
+        int i = 0;
+        while (i < ranks.length) {
+            if (!isAdded[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < ranks.length && isAdded[i]) {
+                i++;
+            }
+            int count = i - start;
+
+            boolean hasPrevious = start > 0;
+            boolean hasNext = i < ranks.length;
+            long lower;
+            long upper;
+            if (hasPrevious && hasNext) {
+                lower = ranks[start - 1];
+                upper = ranks[i];
+            } else if (hasPrevious) {
+                lower = ranks[start - 1];
+                upper = lower + (count + 1) * RANK_STEP;
+            } else if (hasNext) {
+                upper = ranks[i];
+                lower = upper - (count + 1) * RANK_STEP;
+            } else {
+                lower = -RANK_STEP;
+                upper = count * RANK_STEP;
+            }
+
+            long gap = (upper - lower) / (count + 1);
+            if (gap <= 0) {
+                return false;
+            }
+            for (int j = 0; j < count; j++) {
+                ranks[start + j] = lower + gap * (j + 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Выбираем несопоставленную запись старой версии с тем же кодом.
+     *
+     * <p>Для повторяющихся кодов предпочитаем первую позицию после последней
+     * сопоставленной, чтобы удаление одного из повторов не нарушало порядок.
+     *
+     * @param first               первая позиция с этим кодом или null
+     * @param nextSameCode        цепочка следующих позиций с тем же кодом
+     * @param matched             уже сопоставленные позиции
+     * @param lastMatchedPosition последняя сопоставленная позиция
+     * @return позиция в старой версии или -1, если запись добавлена
+     */
+    private static int match(Integer first, int[] nextSameCode, boolean[] matched, int lastMatchedPosition) {
+        if (first == null) {
+            return -1;
+        }
+        int fallback = -1;
+        for (int position = first; position >= 0; position = nextSameCode[position]) {
+            if (matched[position]) {
+                continue;
+            }
+            if (position > lastMatchedPosition) {
+                return position;
+            }
+            if (fallback < 0) {
+                fallback = position;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Возвращаем удалённые записи.
+     *
+     * @return изменения с заполненной старой записью
+     */
+    public List<Change> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Возвращаем переименованные записи (тот же код, другое название).
+     *
+     * @return изменения со старой и новой записью
+     */
+    public List<Change> getRenamed() {
+        return renamed;
+    }
+
+    /**
+     * Возвращаем добавленные записи.
+     *
+     * @return изменения с заполненной новой записью
+     */
+    public List<Change> getAdded() {
+        return added;
+    }
+
+    /**
+     * Возвращаем записи новой версии; неизменённые записи — те же объекты, что в старой.
+     *
+     * @return записи новой версии в исходном порядке
+     */
+    public List<OkvedEntry> getTargetEntries() {
+        return targetEntries;
+    }
+
+    /**
+     * Возвращаем ранги записей новой версии.
+     *
+     * @return копия массива рангов, параллельного {@link #getTargetEntries()}
+     */
+    public long[] getTargetRanks() {
+        return targetRanks.clone();
+    }
+
+    /**
+     * Проверяем, можно ли применить разницу к индексу старой версии.
+     *
+     * @return false, если порядок записей изменился и индекс нужно перестроить
+     */
+    public boolean isOrderPreserved() {
+        return orderPreserved;
+    }
+
+    /**
+     * Возвращаем количество изменённых записей.
+     *
+     * @return сумма удалённых, переименованных и добавленных записей
+     */
+    public int size() {
+        return removed.size() + renamed.size() + added.size();
+    }
+
+    /**
+     * Проверяем, есть ли изменения.
+     *
+     * @return true, если версии совпадают
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -1,11 +1,13 @@
 package com.okvedTest.Okved;
 
+import com.okvedTest.Classifier.ClassifierEntry;
+
 /**
  * Класс, представляющий одну запись справочника ОКВЭД.
  *
  * <p>Содержит код ОКВЭД и его полное название.
  */
-public class OkvedEntry {
+public class OkvedEntry implements ClassifierEntry {
 
     /**
      * Код ОКВЭД (например, "01.11.11").
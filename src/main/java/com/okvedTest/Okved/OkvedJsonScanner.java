@@ -0,0 +1,538 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.Exception.OkvedLoadException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Потоковый сканер JSON-справочника ОКВЭД, работающий напрямую с байтами UTF-8.
+ *
+ * <p>В отличие от разбора через Gson, не строит дерево {@code JsonElement}:
+ * из каждого объекта извлекаются только поля {@code code}, {@code name} и {@code items},
+ * остальные значения пропускаются без создания строк.
+ * Структура обхода совпадает с {@link OkvedLoader}: корень — массив секций,
+ * вложенные записи находятся в массивах {@code items}.
+ *
+ * Записи создаются фабрикой, поэтому тот же сканер разбирает другие справочники
+ * такого же формата (ОКПД2, коды регионов).
+ *
+ * <p>Экземпляр не потокобезопасен и рассчитан на один проход по буферу.
+ *
+ * @param <E> тип записи справочника
+ */
+final class OkvedJsonScanner<E> {
+
+    private static final byte[] KEY_CODE = {'c', 'o', 'd', 'e'};
+    private static final byte[] KEY_NAME = {'n', 'a', 'm', 'e'};
+    private static final byte[] KEY_ITEMS = {'i', 't', 'e', 'm', 's'};
+
+    /**
+     * Буфер с содержимым JSON-файла (обычно отображённый в память).
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Фабрика записи по коду и названию.
+     */
+    private final BiFunction<String, String, ? extends E> entryFactory;
+
+    private final int limit;
+
+    private int pos;
+
+    /**
+     * Переиспользуемый буфер для декодирования строковых значений.
+     */
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Создаём сканер для буфера с JSON в кодировке UTF-8.
+     *
+     * @param buffer       буфер с данными; читается от текущей позиции до лимита
+     * @param entryFactory фабрика записи по коду и названию
+     */
+    OkvedJsonScanner(ByteBuffer buffer, BiFunction<String, String, ? extends E> entryFactory) {
+        this.buffer = buffer;
+        this.entryFactory = entryFactory;
+        this.pos = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Разбираем справочник и возвращаем найденные записи в порядке обхода документа.
+     *
+     * @return список записей (может быть пустым)
+     * @throws OkvedLoadException если JSON невалиден или имеет неверную структуру
+     */
+    List<E> scan() throws OkvedLoadException {
+        skipBom();
+        skipWhitespace();
+        if (peek() != '[') {
+            throw new OkvedLoadException("Некорректный формат ОКВЭД: ожидался JSON-массив.");
+        }
+        pos++;
+
+        List<E> entries = new ArrayList<>();
+        if (!consumeIfArrayEnd()) {
+            do {
+                skipWhitespace();
+                if (peek() != '{') {
+                    throw error("ожидался объект секции");
+                }
+                parseSection(entries);
+            } while (nextArrayElement());
+        }
+
+        skipWhitespace();
+        if (pos != limit) {
+            throw error("лишние данные после корневого массива");
+        }
+        return entries;
+    }
+
+    /**
+     * Разбираем объект секции и рекурсивно его вложенные элементы.
+     *
+     * <p>Запись добавляется перед записями из {@code items}. Обычно {@code code}
+     * и {@code name} идут раньше {@code items}, и запись дописывается в конец списка
+     * до разбора вложенных элементов. Только если {@code items} встретился раньше,
+     * запись вставляется перед уже добавленными вложенными записями.
+     *
+     * @param entries список для добавления записей
+     */
+    private void parseSection(List<E> entries) throws OkvedLoadException {
+        expect('{');
+        int insertAt = entries.size();
+        String code = null;
+        String name = null;
+        boolean added = false;
+
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+
+        do {
+            skipWhitespace();
+            expect('"');
+            int keyStart = pos;
+            skipStringBody();
+            int keyEnd = pos - 1;
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            if (keyEquals(keyStart, keyEnd, KEY_CODE)) {
+                code = readScalar();
+            } else if (keyEquals(keyStart, keyEnd, KEY_NAME)) {
+                name = readScalar();
+            } else if (keyEquals(keyStart, keyEnd, KEY_ITEMS) && peek() == '[') {
+                if (!added && isEntry(code, name)) {
+                    entries.add(entryFactory.apply(code, name));
+                    added = true;
+                }
+                parseItems(entries);
+            } else {
+                skipValue();
+            }
+            skipWhitespace();
+        } while (consumeIfComma());
+        expect('}');
+
+        if (!added && isEntry(code, name)) {
+            if (insertAt == entries.size()) {
+                entries.add(entryFactory.apply(code, name));
+            } else {
+                entries.add(insertAt, entryFactory.apply(code, name));
+            }
+        }
+    }
+
+    /**
+     * Проверяем, что секция является записью: разделы (только буквы и пробелы) пропускаем.
+     *
+     * @param code код секции или null
+     * @param name название секции или null
+     * @return true, если код и название заданы и код содержит цифру
+     */
+    private static boolean isEntry(String code, String name) {
+        if (code == null || name == null) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (Character.isDigit(code.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Разбираем массив {@code items}; элементы, не являющиеся объектами, пропускаем.
+     *
+     * @param entries список для добавления записей
+     */
+    private void parseItems(List<E> entries) throws OkvedLoadException {
+        pos++;
+        if (consumeIfArrayEnd()) {
+            return;
+        }
+        do {
+            skipWhitespace();
+            if (peek() == '{') {
+                parseSection(entries);
+            } else {
+                skipValue();
+            }
+        } while (nextArrayElement());
+    }
+
+    /**
+     * Читаем значение поля {@code code} или {@code name}.
+     *
+     * <p>Как и {@code JsonElement.getAsString()}, допускаем строку или число.
+     *
+     * @return значение поля
+     */
+    private String readScalar() throws OkvedLoadException {
+        byte b = peek();
+        if (b == '"') {
+            pos++;
+            return readStringBody();
+        }
+        if (b == '-' || (b >= '0' && b <= '9')) {
+            int start = pos;
+            skipNumber();
+            return decode(start, pos);
+        }
+        throw error("ожидалась строка");
+    }
+
+    /**
+     * Читаем тело строки после открывающей кавычки.
+     *
+     * <p>Без escape-последовательностей байты копируются в строку как есть;
+     * иначе декодируем их в переиспользуемый буфер.
+     *
+     * @return декодированная строка
+     */
+    private String readStringBody() throws OkvedLoadException {
+        int start = pos;
+        while (true) {
+            byte b = next();
+            if (b == '"') {
+                return decode(start, pos - 1);
+            }
+            if (b == '\\') {
+                pos = start;
+                return readEscapedStringBody();
+            }
+        }
+    }
+
+    private String readEscapedStringBody() throws OkvedLoadException {
+        int length = 0;
+        while (true) {
+            byte b = next();
+            if (b == '"') {
+                return new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+            ensureScratch(length + 4);
+            if (b != '\\') {
+                scratch[length++] = b;
+                continue;
+            }
+
+            byte escape = next();
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    scratch[length++] = escape;
+                    break;
+                case 'b':
+                    scratch[length++] = '\b';
+                    break;
+                case 'f':
+                    scratch[length++] = '\f';
+                    break;
+                case 'n':
+                    scratch[length++] = '\n';
+                    break;
+                case 'r':
+                    scratch[length++] = '\r';
+                    break;
+                case 't':
+                    scratch[length++] = '\t';
+                    break;
+                case 'u':
+                    length = appendCodePoint(length, readUnicodeEscape());
+                    break;
+                default:
+                    throw error("недопустимая escape-последовательность");
+            }
+        }
+    }
+
+    /**
+     * Читаем {@code \}{@code uXXXX}, объединяя суррогатную пару в одну кодовую точку.
+     *
+     * @return кодовая точка
+     */
+    private int readUnicodeEscape() throws OkvedLoadException {
+        int ch = readHex4();
+        if (Character.isHighSurrogate((char) ch)
+                && pos + 1 < limit
+                && buffer.get(pos) == '\\'
+                && buffer.get(pos + 1) == 'u') {
+            int mark = pos;
+            pos += 2;
+            int low = readHex4();
+            if (Character.isLowSurrogate((char) low)) {
+                return Character.toCodePoint((char) ch, (char) low);
+            }
+            pos = mark;
+        }
+        return ch;
+    }
+
+    private int readHex4() throws OkvedLoadException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(next(), 16);
+            if (digit < 0) {
+                throw error("некорректная escape-последовательность \\u");
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Записываем кодовую точку в буфер в кодировке UTF-8.
+     *
+     * @return новая длина данных в буфере
+     */
+    private int appendCodePoint(int length, int cp) {
+        if (cp < 0x80) {
+            scratch[length++] = (byte) cp;
+        } else if (cp < 0x800) {
+            scratch[length++] = (byte) (0xC0 | (cp >> 6));
+            scratch[length++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (cp < 0x10000) {
+            scratch[length++] = (byte) (0xE0 | (cp >> 12));
+            scratch[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            scratch[length++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+            scratch[length++] = (byte) (0xF0 | (cp >> 18));
+            scratch[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            scratch[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            scratch[length++] = (byte) (0x80 | (cp & 0x3F));
+        }
+        return length;
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        ensureScratch(length);
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensureScratch(int capacity) {
+        if (scratch.length < capacity) {
+            byte[] grown = new byte[Math.max(capacity, scratch.length * 2)];
+            System.arraycopy(scratch, 0, grown, 0, scratch.length);
+            scratch = grown;
+        }
+    }
+
+    /**
+     * Пропускаем произвольное JSON-значение без создания объектов.
+     */
+    private void skipValue() throws OkvedLoadException {
+        byte b = peek();
+        switch (b) {
+            case '"':
+                pos++;
+                skipStringBody();
+                break;
+            case '{':
+                pos++;
+                skipWhitespace();
+                if (peek() == '}') {
+                    pos++;
+                    break;
+                }
+                do {
+                    skipWhitespace();
+                    expect('"');
+                    skipStringBody();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    skipValue();
+                    skipWhitespace();
+                } while (consumeIfComma());
+                expect('}');
+                break;
+            case '[':
+                pos++;
+                if (consumeIfArrayEnd()) {
+                    break;
+                }
+                do {
+                    skipWhitespace();
+                    skipValue();
+                } while (nextArrayElement());
+                break;
+            case 't':
+                skipLiteral("true");
+                break;
+            case 'f':
+                skipLiteral("false");
+                break;
+            case 'n':
+                skipLiteral("null");
+                break;
+            default:
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    skipNumber();
+                } else {
+                    throw error("неожиданный символ");
+                }
+        }
+    }
+
+    /**
+     * Пропускаем тело строки; позиция останавливается за закрывающей кавычкой.
+     */
+    private void skipStringBody() throws OkvedLoadException {
+        while (true) {
+            byte b = next();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                next();
+            }
+        }
+    }
+
+    private void skipNumber() {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipLiteral(String literal) throws OkvedLoadException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) {
+                throw error("ожидалось " + literal);
+            }
+        }
+    }
+
+    private boolean keyEquals(int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяем, закрывается ли массив сразу после открывающей скобки.
+     */
+    private boolean consumeIfArrayEnd() throws OkvedLoadException {
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Переходим к следующему элементу массива.
+     *
+     * @return true, если за запятой следует ещё один элемент; false, если массив закрыт
+     */
+    private boolean nextArrayElement() throws OkvedLoadException {
+        skipWhitespace();
+        byte b = next();
+        if (b == ',') {
+            return true;
+        }
+        if (b == ']') {
+            return false;
+        }
+        pos--;
+        throw error("ожидалась ',' или ']'");
+    }
+
+    private boolean consumeIfComma() throws OkvedLoadException {
+        if (peek() == ',') {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) throws OkvedLoadException {
+        if (peek() != expected) {
+            throw error("ожидался символ '" + expected + "'");
+        }
+        pos++;
+    }
+
+    private void skipBom() {
+        if (limit - pos >= 3
+                && buffer.get(pos) == (byte) 0xEF
+                && buffer.get(pos + 1) == (byte) 0xBB
+                && buffer.get(pos + 2) == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private byte peek() throws OkvedLoadException {
+        if (pos >= limit) {
+            throw error("неожиданный конец данных");
+        }
+        return buffer.get(pos);
+    }
+
+    private byte next() throws OkvedLoadException {
+        byte b = peek();
+        pos++;
+        return b;
+    }
+
+    private OkvedLoadException error(String reason) {
+        return new OkvedLoadException("Некорректный JSON в позиции " + pos + ": " + reason + ".");
+    }
+}
@@ -1,25 +1,46 @@
 package com.okvedTest.Okved;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Jfr.OkvedDownloadEvent;
+import com.okvedTest.Jfr.OkvedParseEvent;
 
 /**
  * Класс для загрузки справочника ОКВЭД из внешнего источника.
  *
  * <p>Загружаем JSON-файл по HTTPS и парсим его в структурированный объект.
  * Используем библиотеку Gson для работы с JSON.
+ * Локальный файл справочника отображаем в память и разбираем
+ * побайтовым сканером {@link OkvedJsonScanner} без построения дерева Gson.
+ * Фазы загрузки и разбора записываются событиями JFR
+ * {@link OkvedDownloadEvent} и {@link OkvedParseEvent}.
+ *
+ * <p>Для повторной загрузки используем {@link OkvedSnapshot}: неизменённый
+ * источник не скачивается повторно (условный HTTP-запрос), а при изменениях
+ * индекс поиска обновляется по разнице записей вместо полного перестроения.
  *
  * @see <a href="https://github.com/google/gson">Gson на GitHub</a>
  */
@@ -30,18 +51,39 @@ public class OkvedLoader {
      */
     private static final Duration TIMEOUT = Duration.ofSeconds(10);
 
+    /**
+     * Название справочника ОКВЭД в сообщениях об ошибках.
+     */
+    private static final String OKVED_DICTIONARY = "ОКВЭД";
+
     private final Gson gson;
 
     private final HttpClient httpClient;
 
+    /**
+     * Сверять ли обновлённый по разнице индекс с полным перестроением.
+     */
+    private final boolean verifyPatches;
+
     /**
      * Создаём новый загрузчик ОКВЭД.
      */
     public OkvedLoader() {
+        this(false);
+    }
+
+    /**
+     * Создаём новый загрузчик ОКВЭД.
+     *
+     * @param verifyPatches true, чтобы после каждого обновления индекса по разнице
+     *                      строить индекс заново и сверять результаты (режим проверки)
+     */
+    public OkvedLoader(boolean verifyPatches) {
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(TIMEOUT)
                 .build();
         this.gson = new Gson();
+        this.verifyPatches = verifyPatches;
     }
 
     /**
@@ -52,9 +94,156 @@ public class OkvedLoader {
      * @throws OkvedLoadException если произошла ошибка загрузки или парсинга
      */
     public OkvedData loadFromUrl(String urlString) throws OkvedLoadException {
+        return new OkvedData(loadEntriesFromUrl(urlString, OKVED_DICTIONARY, OkvedEntry::new));
+    }
+
+    /**
+     * Загружаем по указанному URL записи справочника в формате ОКВЭД.
+     *
+     * <p>Формат ({@code code}, {@code name}, вложенные {@code items}) общий для ОКВЭД
+     * и других классификаторов, поэтому тип записи задаётся фабрикой.
+     *
+     * @param urlString    URL для загрузки JSON-файла
+     * @param dictionary   название справочника для сообщений об ошибках
+     * @param entryFactory фабрика записи по коду и названию
+     * @param <E>          тип записи
+     * @return непустой список записей в порядке следования в документе
+     * @throws OkvedLoadException если произошла ошибка загрузки или парсинга
+     */
+    public <E> List<E> loadEntriesFromUrl(String urlString, String dictionary,
+                                          BiFunction<String, String, ? extends E> entryFactory)
+            throws OkvedLoadException {
+        try {
+            byte[] body = download(urlString, null).body();
+            return parseEntries(new String(body, StandardCharsets.UTF_8), urlString, body.length,
+                    dictionary, entryFactory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OkvedLoadException(
+                    "Загрузка справочника " + dictionary + " была прервана.", e
+            );
+        } catch (IOException e) {
+            throw new OkvedLoadException(
+                    "Ошибка загрузки справочника " + dictionary + " из " + urlString, e
+            );
+        }
+    }
+
+    /**
+     * Загружаем справочник ОКВЭД из локального файла.
+     *
+     * <p>Файл отображается в память, записи извлекаются напрямую из байтов UTF-8.
+     *
+     * @param path путь к JSON-файлу
+     * @return объект с данными ОКВЭД
+     * @throws OkvedLoadException если файл недоступен или содержит некорректные данные
+     */
+    public OkvedData loadFromPath(Path path) throws OkvedLoadException {
+        return new OkvedData(loadEntriesFromPath(path, OKVED_DICTIONARY, OkvedEntry::new));
+    }
+
+    /**
+     * Загружаем из локального файла записи справочника в формате ОКВЭД.
+     *
+     * <p>Файл отображается в память, записи извлекаются напрямую из байтов UTF-8.
+     *
+     * @param path         путь к JSON-файлу
+     * @param dictionary   название справочника для сообщений об ошибках
+     * @param entryFactory фабрика записи по коду и названию
+     * @param <E>          тип записи
+     * @return непустой список записей в порядке следования в документе
+     * @throws OkvedLoadException если файл недоступен или содержит некорректные данные
+     */
+    public <E> List<E> loadEntriesFromPath(Path path, String dictionary,
+                                           BiFunction<String, String, ? extends E> entryFactory)
+            throws OkvedLoadException {
+        return scanEntries(mapFile(path, dictionary), path, dictionary, entryFactory);
+    }
+
+    /**
+     * Отображаем файл справочника в память.
+     *
+     * <p>Отображение остаётся действительным после закрытия канала.
+     *
+     * @param path       путь к файлу
+     * @param dictionary название справочника для сообщений об ошибках
+     * @return буфер только для чтения с содержимым файла
+     * @throws OkvedLoadException если файл недоступен или слишком большой
+     */
+    private static MappedByteBuffer mapFile(Path path, String dictionary) throws OkvedLoadException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new OkvedLoadException("Файл справочника " + dictionary + " слишком большой: " + size + " байт.");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new OkvedLoadException(
+                    "Ошибка загрузки справочника " + dictionary + " из " + path, e
+            );
+        }
+    }
+
+    /**
+     * Извлекаем записи из отображённого в память файла.
+     *
+     * @param buffer       содержимое файла
+     * @param path         путь к файлу для сообщений об ошибках и события JFR
+     * @param dictionary   название справочника для сообщений об ошибках
+     * @param entryFactory фабрика записи по коду и названию
+     * @param <E>          тип записи
+     * @return непустой список записей в порядке следования в документе
+     * @throws OkvedLoadException если файл содержит некорректные данные
+     */
+    private static <E> List<E> scanEntries(MappedByteBuffer buffer, Path path, String dictionary,
+                                           BiFunction<String, String, ? extends E> entryFactory)
+            throws OkvedLoadException {
+        OkvedParseEvent event = new OkvedParseEvent();
+        event.begin();
+
+        try {
+            int size = buffer.remaining();
+            List<E> entries = new OkvedJsonScanner<E>(buffer, entryFactory).scan();
+
+            if (entries.isEmpty()) {
+                throw new OkvedLoadException("Справочник " + dictionary + " не содержит записей: " + path);
+            }
+
+            commitParseEvent(event, path.toString(), "mmap", size, entries.size());
+            return entries;
+        } catch (IllegalArgumentException e) {
+            throw new OkvedLoadException("Ошибка парсинга JSON.", e);
+        }
+    }
+
+    /**
+     * Загружаем или обновляем справочник ОКВЭД по указанному URL.
+     *
+     * <p>Если передан текущий снимок, отправляем условный запрос ({@code If-None-Match}
+     * или {@code If-Modified-Since}); при ответе 304 возвращаем текущий снимок без
+     * скачивания и разбора. Иначе вычисляем разницу с текущими записями и обновляем
+     * индекс только для изменённых записей.
+     *
+     * <p>Если данные не изменились, возвращается {@code current}; только если сервер
+     * прислал новый ETag или Last-Modified, возвращается копия {@code current} с теми же
+     * данными и индексом и новым признаком версии.
+     *
+     * @param urlString URL для загрузки JSON-файла
+     * @param current   текущий снимок или null для первой загрузки
+     * @return новый снимок, {@code current} или его копия с новым признаком версии
+     * @throws OkvedLoadException если произошла ошибка загрузки, парсинга или проверки индекса
+     */
+    public OkvedSnapshot reloadFromUrl(String urlString, OkvedSnapshot current) throws OkvedLoadException {
         try {
-            String json = downloadJson(urlString);
-            return parseJson(json);
+            HttpResponse<byte[]> response = download(urlString, current);
+            String validator = httpValidator(response);
+            if (response.statusCode() == 304) {
+                return current.withValidator(validator != null ? validator : current.getValidator());
+            }
+
+            byte[] body = response.body();
+            OkvedData okvedData = parseJson(new String(body, StandardCharsets.UTF_8), urlString, body.length);
+            return update(current, okvedData, validator);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new OkvedLoadException(
@@ -67,32 +256,151 @@ public class OkvedLoader {
         }
     }
 
+    /**
+     * Загружаем или обновляем справочник ОКВЭД из локального файла.
+     *
+     * <p>Признак версии файла — хеш SHA-256 его содержимого: в отличие от времени
+     * изменения и размера, он замечает перезапись тем же объёмом в пределах
+     * точности времени файловой системы. Если хеш совпадает с текущим снимком,
+     * файл не разбирается и возвращается {@code current}. Иначе обновляем индекс
+     * по разнице записей.
+     *
+     * @param path    путь к JSON-файлу
+     * @param current текущий снимок или null для первой загрузки
+     * @return новый снимок, {@code current} или его копия с новым признаком версии
+     * @throws OkvedLoadException если файл недоступен, содержит некорректные данные или индекс не прошёл проверку
+     */
+    public OkvedSnapshot reloadFromPath(Path path, OkvedSnapshot current) throws OkvedLoadException {
+        MappedByteBuffer buffer = mapFile(path, OKVED_DICTIONARY);
+        String validator = contentValidator(buffer.duplicate());
+        if (current != null && validator.equals(current.getValidator())) {
+            return current;
+        }
+        return update(current, new OkvedData(scanEntries(buffer, path, OKVED_DICTIONARY, OkvedEntry::new)),
+                validator);
+    }
+
+    /**
+     * Вычисляем признак версии по содержимому файла.
+     *
+     * <p>Хеш считается по тому же отображению, которое затем разбирается, поэтому
+     * признак версии всегда соответствует загруженным записям.
+     *
+     * @param content содержимое файла; позиция буфера сдвигается до конца
+     * @return {@code sha256:} и хеш содержимого
+     */
+    private static String contentValidator(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return "sha256:" + new BigInteger(1, digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен.", e);
+        }
+    }
+
+    /**
+     * Строим снимок для новых данных на основе текущего.
+     *
+     * <p>Стоимость обновления индекса пропорциональна количеству изменённых записей;
+     * если порядок существующих записей изменился, индекс перестраивается целиком.
+     *
+     * @param current   текущий снимок или null
+     * @param okvedData новые данные
+     * @param validator признак версии источника
+     * @return новый снимок; {@code current} или его копия с новым признаком версии, если записи не изменились
+     * @throws OkvedLoadException если в режиме проверки индекс разошёлся с полным перестроением
+     */
+    private OkvedSnapshot update(OkvedSnapshot current, OkvedData okvedData, String validator)
+            throws OkvedLoadException {
+        if (current == null) {
+            return OkvedSnapshot.of(okvedData, validator);
+        }
+
+        OkvedDelta delta = OkvedDelta.compute(
+                current.getData().getEntries(), current.getRanks(), okvedData.getEntries());
+        if (!delta.isOrderPreserved()) {
+            return OkvedSnapshot.of(new OkvedData(delta.getTargetEntries()), validator);
+        }
+        if (delta.isEmpty()) {
+            return current.withValidator(validator);
+        }
+
+        OkvedData patchedData = new OkvedData(delta.getTargetEntries());
+        OkvedSuffixIndex patchedIndex = current.getIndex().apply(delta);
+
+        if (verifyPatches && !patchedIndex.sameStructure(OkvedSuffixIndex.build(patchedData))) {
+            throw new OkvedLoadException(
+                    "Индекс ОКВЭД после обновления по разнице (" + delta.size()
+                            + " записей) не совпадает с полным перестроением."
+            );
+        }
+
+        return new OkvedSnapshot(patchedData, delta.getTargetRanks(), patchedIndex, validator);
+    }
+
+    /**
+     * Извлекаем из ответа признак версии для следующего условного запроса.
+     *
+     * @param response HTTP-ответ
+     * @return ETag, Last-Modified или null
+     */
+    private static String httpValidator(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag")
+                .map(etag -> "etag:" + etag)
+                .or(() -> response.headers().firstValue("Last-Modified").map(date -> "modified:" + date))
+                .orElse(null);
+    }
+
     /**
      * Скачиваем JSON-файл по указанному URL.
      *
      * @param urlString URL для загрузки
-     * @return содержимое файла в виде строки
+     * @param current   текущий снимок для условного запроса или null
+     * @return HTTP-ответ с кодом 200 или 304 (только при наличии снимка)
      * @throws IOException если произошла ошибка сети
      */
-    private String downloadJson(String urlString) throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
+    private HttpResponse<byte[]> download(String urlString, OkvedSnapshot current)
+            throws IOException, InterruptedException {
+        OkvedDownloadEvent event = new OkvedDownloadEvent();
+        event.begin();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(urlString))
                 .timeout(TIMEOUT)
                 .header("Accept", "application/json")
-                .GET()
-                .build();
+                .GET();
+
+        String validator = current != null ? current.getValidator() : null;
+        if (validator != null && validator.startsWith("etag:")) {
+            builder.header("If-None-Match", validator.substring("etag:".length()));
+        } else if (validator != null && validator.startsWith("modified:")) {
+            builder.header("If-Modified-Since", validator.substring("modified:".length()));
+        }
+        HttpRequest request = builder.build();
 
-        HttpResponse<String> response = httpClient.send(
+        HttpResponse<byte[]> response = httpClient.send(
                 request,
-                HttpResponse.BodyHandlers.ofString()
+                HttpResponse.BodyHandlers.ofByteArray()
         );
 
         int statusCode = response.statusCode();
-        if (statusCode != 200) {
-            throw new IOException("HTTP ошибка: " + statusCode + ", Тело: " + response.body());
+        byte[] body = response.body();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.url = urlString;
+            event.statusCode = statusCode;
+            event.bytes = body.length;
+            event.commit();
+        }
+
+        boolean notModified = statusCode == 304 && validator != null;
+        if (statusCode != 200 && !notModified) {
+            throw new IOException("HTTP ошибка: " + statusCode + ", Тело: " + new String(body, StandardCharsets.UTF_8));
         }
 
-        return response.body();
+        return response;
     }
 
     /**
@@ -100,40 +408,87 @@ public class OkvedLoader {
      *
      * <p>Рекурсивно обходим иерархическую структуру и извлекаем все коды.
      *
-     * @param json JSON-строка для парсинга
+     * @param json   JSON-строка для парсинга
+     * @param source URL источника (для события JFR)
+     * @param bytes  размер исходных данных в байтах (для события JFR)
      * @return объект с данными ОКВЭД
      * @throws OkvedLoadException если JSON невалиден
      */
-    private OkvedData parseJson(String json) throws OkvedLoadException {
+    private OkvedData parseJson(String json, String source, long bytes) throws OkvedLoadException {
+        return new OkvedData(parseEntries(json, source, bytes, OKVED_DICTIONARY, OkvedEntry::new));
+    }
+
+    /**
+     * Парсим JSON-строку в список записей справочника.
+     *
+     * @param json         JSON-строка для парсинга
+     * @param source       URL источника (для события JFR)
+     * @param bytes        размер исходных данных в байтах (для события JFR)
+     * @param dictionary   название справочника для сообщений об ошибках
+     * @param entryFactory фабрика записи по коду и названию
+     * @param <E>          тип записи
+     * @return непустой список записей
+     * @throws OkvedLoadException если JSON невалиден
+     */
+    private <E> List<E> parseEntries(String json, String source, long bytes, String dictionary,
+                                     BiFunction<String, String, ? extends E> entryFactory)
+            throws OkvedLoadException {
+        OkvedParseEvent event = new OkvedParseEvent();
+        event.begin();
+
         try {
             JsonElement rootElement = gson.fromJson(json, JsonElement.class);
             if (!rootElement.isJsonArray()) {
-                throw new OkvedLoadException("Некорректный формат ОКВЭД: ожидался JSON-массив.");
+                throw new OkvedLoadException("Некорректный формат справочника " + dictionary + ": ожидался JSON-массив.");
             }
             JsonArray root = rootElement.getAsJsonArray();
-            List<OkvedEntry> entries = new ArrayList<>();
+            List<E> entries = new ArrayList<>();
 
             for (JsonElement section : root) {
-                parseSection(section.getAsJsonObject(), entries);
+                parseSection(section.getAsJsonObject(), entries, entryFactory);
             }
 
             if (entries.isEmpty()) {
-                throw new OkvedLoadException("ОКВЭД файл не содержит записей.");
+                throw new OkvedLoadException("Справочник " + dictionary + " не содержит записей: " + source);
             }
 
-            return new OkvedData(entries);
+            commitParseEvent(event, source, "gson", bytes, entries.size());
+            return entries;
         } catch (Exception e) {
             throw new OkvedLoadException("Ошибка парсинга JSON.", e);
         }
     }
 
+    /**
+     * Завершаем и записываем событие JFR об успешном разборе справочника.
+     *
+     * @param event      начатое событие
+     * @param source     URL или путь к файлу
+     * @param parser     использованный парсер
+     * @param bytes      размер исходных данных в байтах
+     * @param entryCount количество извлечённых записей
+     */
+    private static void commitParseEvent(OkvedParseEvent event, String source, String parser,
+                                         long bytes, int entryCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.parser = parser;
+            event.bytes = bytes;
+            event.entryCount = entryCount;
+            event.commit();
+        }
+    }
+
     /**
      * Рекурсивно парсим секцию ОКВЭД и добавляем записи в список.
      *
-     * @param obj     JSON-объект секции
-     * @param entries список для добавления записей
+     * @param obj          JSON-объект секции
+     * @param entries      список для добавления записей
+     * @param entryFactory фабрика записи по коду и названию
      */
-    private void parseSection(JsonObject obj, List<OkvedEntry> entries) {
+    private <E> void parseSection(JsonObject obj, List<E> entries,
+                                  BiFunction<String, String, ? extends E> entryFactory) {
         if (obj.has("code") && obj.has("name")) {
             String code = obj.get("code").getAsString();
             String name = obj.get("name").getAsString();
@@ -141,7 +496,7 @@ public class OkvedLoader {
             // Пропускаем разделы (содержат только буквы и пробелы)
             boolean hasDigit = code.chars().anyMatch(Character::isDigit);
             if (hasDigit) {
-                entries.add(new OkvedEntry(code, name));
+                entries.add(entryFactory.apply(code, name));
             }
         }
 
@@ -150,7 +505,7 @@ public class OkvedLoader {
             JsonArray items = obj.getAsJsonArray("items");
             for (JsonElement item : items) {
                 if (item.isJsonObject()) {
-                    parseSection(item.getAsJsonObject(), entries);
+                    parseSection(item.getAsJsonObject(), entries, entryFactory);
                 }
             }
         }
@@ -1,8 +1,9 @@
 package com.okvedTest.Okved;
 
 import com.okvedTest.BestMatchResult;
+import com.okvedTest.Classifier.SuffixRules;
+import com.okvedTest.Jfr.OkvedMatchEvent;
 
-import java.util.Comparator;
 import java.util.Objects;
 
 /**
@@ -16,6 +17,13 @@ import java.util.Objects;
  *      *       (с большей длиной цифровой части)</li>
  *      *   <li>Если совпадений нет — применяем резервнкю стратегию</li>
  * </ol>
+ *
+ * <p>Правила выбора общие для всех справочников и реализованы в {@link SuffixRules};
+ * поиск по индексу ({@link OkvedSuffixIndex}) даёт те же результаты.
+ *
+ * <p>Выборочные вызовы записываются событием JFR {@link OkvedMatchEvent}.
+ * Пакетный поиск {@link #findBestMatches(long[], FlatOkvedTrie, int[], int[])}
+ * событий не записывает.
  */
 public class OkvedMatcher {
 
@@ -33,74 +41,155 @@ public class OkvedMatcher {
         Objects.requireNonNull(normalizedPhone, "Телефонный номер не может быть null.");
         Objects.requireNonNull(okvedData, "Данные ОКВЭД не могут быть null.");
 
-        if (!normalizedPhone.startsWith(PHONE_PREFIX)) {
-            throw new IllegalArgumentException("Неверный формат нормализованного номера: " + normalizedPhone);
-        }
+        String phoneDigits = phoneDigits(normalizedPhone);
+        OkvedMatchEvent event = beginMatchEvent();
 
-        String phoneDigits = normalizedPhone.substring(PHONE_PREFIX.length());
+        return commitMatchEvent(event,
+                SuffixRules.findBestMatch(phoneDigits, okvedData.getEntries(), BestMatchResult::new));
+    }
 
-        OkvedEntry bestMatch = null;
-        int maxMatchLength = -1;
+    /**
+     * Находим код ОКВЭД с максимальным совпадением по окончанию номера, используя индекс.
+     *
+     * <p>Результат совпадает с {@link #findBestMatch(String, OkvedData)} для справочника,
+     * по которому построен индекс.
+     *
+     * @param normalizedPhone нормализованный номер в формате {@code +79XXXXXXXXX}
+     * @param index           индекс справочника ОКВЭД
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     * @throws IllegalArgumentException если входные параметры некорректны
+     */
+    public BestMatchResult findBestMatch(String normalizedPhone, OkvedSuffixIndex index) {
+        Objects.requireNonNull(normalizedPhone, "Телефонный номер не может быть null.");
+        Objects.requireNonNull(index, "Индекс ОКВЭД не может быть null.");
 
-        for (OkvedEntry entry : okvedData.getEntries()) {
-            String okvedDigits = entry.getDigitsOnly();
-            int matchLength = getMatchLength(phoneDigits, okvedDigits);
+        String phoneDigits = phoneDigits(normalizedPhone);
+        OkvedMatchEvent event = beginMatchEvent();
+        return commitMatchEvent(event, index.findBestMatch(phoneDigits));
+    }
 
-            boolean isBetter =
-                    matchLength > maxMatchLength ||
-                            (matchLength == maxMatchLength &&
-                                    bestMatch != null &&
-                                    okvedDigits.length() > bestMatch.getDigitsOnly().length());
+    /**
+     * Находим код ОКВЭД с максимальным совпадением по окончанию номера, используя
+     * индекс вне кучи.
+     *
+     * <p>Найденная запись декодируется из буфера при поиске: код, название и длина
+     * совпадения те же, что у {@link #findBestMatch(String, OkvedData)}, но объекты записей другие.
+     *
+     * @param normalizedPhone нормализованный номер в формате {@code +79XXXXXXXXX}
+     * @param index           упакованный индекс справочника ОКВЭД
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     * @throws IllegalArgumentException если входные параметры некорректны
+     */
+    public BestMatchResult findBestMatch(String normalizedPhone, OffHeapOkvedIndex index) {
+        Objects.requireNonNull(normalizedPhone, "Телефонный номер не может быть null.");
+        Objects.requireNonNull(index, "Индекс ОКВЭД не может быть null.");
+
+        String phoneDigits = phoneDigits(normalizedPhone);
+        OkvedMatchEvent event = beginMatchEvent();
+        return commitMatchEvent(event, index.findBestMatch(phoneDigits));
+    }
 
-            if (isBetter) {
-                bestMatch = entry;
-                maxMatchLength = matchLength;
+    /**
+     * Находим коды ОКВЭД для пакета номеров без создания объектов на каждый номер.
+     *
+     * <p>Для каждого номера результат совпадает с {@link #findBestMatch(String, OkvedData)}
+     * по справочнику, из которого построено {@code trie}: в {@code ordinals[i]} записывается
+     * порядковый номер записи в {@code okvedData.getEntries()}, в {@code matchLengths[i]} —
+     * длина совпадения (0 для резервной стратегии). Массивы результатов заполняются
+     * вызывающим кодом и могут переиспользоваться между вызовами.
+     *
+     * @param phones       номера в виде {@link #packPhone(String)}
+     * @param trie         плоское дерево справочника ОКВЭД
+     * @param ordinals     массив для порядковых номеров записей, не короче {@code phones}
+     * @param matchLengths массив для длин совпадения, не короче {@code phones}
+     * @throws IllegalArgumentException если массивы результатов короче {@code phones}
+     *                                  или номер вне диапазона десяти цифр
+     */
+    public void findBestMatches(long[] phones, FlatOkvedTrie trie, int[] ordinals, int[] matchLengths) {
+        Objects.requireNonNull(phones, "Массив номеров не может быть null.");
+        Objects.requireNonNull(trie, "Индекс ОКВЭД не может быть null.");
+        Objects.requireNonNull(ordinals, "Массив результатов не может быть null.");
+        Objects.requireNonNull(matchLengths, "Массив длин совпадения не может быть null.");
+        if (ordinals.length < phones.length || matchLengths.length < phones.length) {
+            throw new IllegalArgumentException("Массивы результатов короче массива номеров.");
+        }
+        for (long phone : phones) {
+            if (phone < 0 || phone > FlatOkvedTrie.MAX_PHONE) {
+                throw new IllegalArgumentException("Неверный упакованный номер: " + phone);
             }
         }
 
-        if (bestMatch == null || maxMatchLength <= 0) {
-            bestMatch = selectFallback(okvedData);
-            maxMatchLength = 0;
-        }
+        trie.match(phones, ordinals, matchLengths);
+    }
 
-        return new BestMatchResult(bestMatch, maxMatchLength);
+    /**
+     * Упаковываем нормализованный номер для {@link #findBestMatches(long[], FlatOkvedTrie, int[], int[])}.
+     *
+     * @param normalizedPhone нормализованный номер в формате {@code +79XXXXXXXXX}
+     * @return десять цифр после {@code +7} как число
+     * @throws IllegalArgumentException если номер не в формате {@code +7} и десяти цифр
+     */
+    public static long packPhone(String normalizedPhone) {
+        String phoneDigits = phoneDigits(normalizedPhone);
+        if (phoneDigits.length() != FlatOkvedTrie.PHONE_DIGITS) {
+            throw new IllegalArgumentException("Неверный формат нормализованного номера: " + normalizedPhone);
+        }
+        long packed = 0;
+        for (int i = 0; i < phoneDigits.length(); i++) {
+            int digit = phoneDigits.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Неверный формат нормализованного номера: " + normalizedPhone);
+            }
+            packed = packed * 10 + digit;
+        }
+        return packed;
     }
 
     /**
-     * Резервная стратегия выбора ОКВЭД.
+     * Отделяем цифры номера от префикса {@code +7}.
      *
-     * <p>В случае отсутствия совпадений выбираем
-     * наиболее общий код (с минимальной длиной цифровой части).
+     * @param normalizedPhone нормализованный номер
+     * @return цифры номера без кода страны
+     * @throws IllegalArgumentException если номер не начинается с {@code +7}
+     */
+    private static String phoneDigits(String normalizedPhone) {
+        if (!normalizedPhone.startsWith(PHONE_PREFIX)) {
+            throw new IllegalArgumentException("Неверный формат нормализованного номера: " + normalizedPhone);
+        }
+        return normalizedPhone.substring(PHONE_PREFIX.length());
+    }
+
+    /**
+     * Начинаем событие JFR, если вызов попал в выборку.
      *
-     * @param okvedData данные справочника ОКВЭД
-     * @return выбранная запись ОКВЭД
+     * @return начатое событие или null
      */
-    private OkvedEntry selectFallback(OkvedData okvedData) {
-        return okvedData.getEntries().stream()
-                .min(Comparator.comparingInt(e -> e.getDigitsOnly().length()))
-                .orElseThrow(() ->
-                        new IllegalStateException("Справочник ОКВЭД не содержит записей."));
+    private static OkvedMatchEvent beginMatchEvent() {
+        if (!OkvedMatchEvent.sample()) {
+            return null;
+        }
+        OkvedMatchEvent event = new OkvedMatchEvent();
+        event.begin();
+        return event;
     }
 
     /**
-     * Вычисляем длину совпадения двух строк с конца.
+     * Завершаем и записываем событие JFR с результатом поиска.
      *
-     * @param phoneDigits цифры телефонного номера
-     * @param okvedDigits цифры кода ОКВЭД
-     * @return количество совпавших символов с конца
+     * @param event  событие из {@link #beginMatchEvent()} или null
+     * @param result результат поиска
+     * @return тот же результат
      */
-    private int getMatchLength(String phoneDigits, String okvedDigits) {
-        int matchLength = 0;
-
-        for (int i = 1; i <= Math.min(phoneDigits.length(), okvedDigits.length()); i++) {
-            if (phoneDigits.charAt(phoneDigits.length() - i)
-                    == okvedDigits.charAt(okvedDigits.length() - i)) {
-                matchLength++;
-            } else {
-                break;
+    private static BestMatchResult commitMatchEvent(OkvedMatchEvent event, BestMatchResult result) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.code = result.getEntry().getCode();
+                event.matchLength = result.getMatchLength();
+                event.fallback = result.isFallback();
+                event.commit();
             }
         }
-
-        return matchLength;
+        return result;
     }
-}
\ No newline at end of file
+}
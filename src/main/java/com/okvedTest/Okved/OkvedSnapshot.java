@@ -0,0 +1,94 @@
+package com.okvedTest.Okved;
+
+import java.util.Objects;
+
+/**
+ * Загруженное состояние справочника ОКВЭД: данные, индекс поиска и сведения
+ * об источнике для повторной загрузки.
+ *
+ * <p>Снимок создаётся {@link OkvedLoader} и передаётся обратно в
+ * {@link OkvedLoader#reloadFromUrl(String, OkvedSnapshot)} или
+ * {@link OkvedLoader#reloadFromPath(java.nio.file.Path, OkvedSnapshot)}:
+ * если источник не изменился, возвращается тот же снимок, иначе индекс
+ * обновляется по разнице записей ({@link OkvedDelta}).
+ *
+ * <p>Экземпляр неизменяем и потокобезопасен.
+ */
+public final class OkvedSnapshot {
+
+    private final OkvedData data;
+
+    /**
+     * Ранги записей (параллельно {@code data.getEntries()}).
+     */
+    private final long[] ranks;
+
+    private final OkvedSuffixIndex index;
+
+    /**
+     * Признак версии источника: ETag или Last-Modified для HTTP, хеш содержимого для файла.
+     */
+    private final String validator;
+
+    OkvedSnapshot(OkvedData data, long[] ranks, OkvedSuffixIndex index, String validator) {
+        this.data = data;
+        this.ranks = ranks;
+        this.index = index;
+        this.validator = validator;
+    }
+
+    /**
+     * Создаём снимок для уже загруженных данных, построив индекс целиком.
+     *
+     * @param okvedData данные справочника ОКВЭД
+     * @return снимок без сведений об источнике
+     */
+    public static OkvedSnapshot of(OkvedData okvedData) {
+        return of(okvedData, null);
+    }
+
+    static OkvedSnapshot of(OkvedData okvedData, String validator) {
+        long[] ranks = OkvedDelta.initialRanks(okvedData.size());
+        return new OkvedSnapshot(okvedData, ranks,
+                OkvedSuffixIndex.build(okvedData.getEntries(), ranks), validator);
+    }
+
+    /**
+     * Возвращаем данные справочника.
+     *
+     * @return данные ОКВЭД
+     */
+    public OkvedData getData() {
+        return data;
+    }
+
+    /**
+     * Возвращаем индекс поиска.
+     *
+     * @return индекс
+     */
+    public OkvedSuffixIndex getIndex() {
+        return index;
+    }
+
+    long[] getRanks() {
+        return ranks;
+    }
+
+    String getValidator() {
+        return validator;
+    }
+
+    /**
+     * Возвращаем снимок с теми же данными и индексом и новым признаком версии.
+     *
+     * @param newValidator новый признак версии
+     * @return этот же снимок, если признак не изменился, иначе копия
+     */
+    OkvedSnapshot withValidator(String newValidator) {
+        if (Objects.equals(validator, newValidator)) {
+            return this;
+        }
+        return new OkvedSnapshot(data, ranks, index, newValidator);
+    }
+}
@@ -0,0 +1,182 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Classifier.SuffixIndex;
+import com.okvedTest.Jfr.OkvedIndexBuildEvent;
+
+import java.util.List;
+
+/**
+ * Неизменяемый индекс для поиска ОКВЭД по окончанию телефонного номера.
+ *
+ * <p>Дерево по цифрам кода с конца строит и обходит общий {@link SuffixIndex};
+ * этот класс связывает его с рангами {@link OkvedDelta} и результатом
+ * {@link BestMatchResult}. Поиск проходит не больше 10 узлов вместо сравнения
+ * номера со всеми записями.
+ *
+ * <p>Результаты совпадают с линейным поиском {@link OkvedMatcher#findBestMatch(String, OkvedData)}:
+ * при равной длине совпадения выбирается код с большей длиной цифровой части,
+ * затем запись с меньшим рангом (более ранняя в справочнике, см. {@link OkvedDelta}).
+ *
+ * <p>Изменения {@link #with(OkvedEntry, long)}, {@link #without(OkvedEntry, long)}
+ * и {@link #apply(OkvedDelta)} копируют только путь от корня до изменённого узла;
+ * остальные узлы разделяются между старым и новым индексом.
+ */
+public final class OkvedSuffixIndex {
+
+    private static final OkvedSuffixIndex EMPTY = new OkvedSuffixIndex(SuffixIndex.empty());
+
+    private final SuffixIndex<OkvedEntry> trie;
+
+    private OkvedSuffixIndex(SuffixIndex<OkvedEntry> trie) {
+        this.trie = trie;
+    }
+
+    /**
+     * Возвращаем пустой индекс.
+     *
+     * @return индекс без записей
+     */
+    public static OkvedSuffixIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Строим индекс по справочнику; ранги записей — {@link OkvedDelta#initialRanks(int)}.
+     *
+     * @param okvedData данные справочника ОКВЭД
+     * @return построенный индекс
+     */
+    public static OkvedSuffixIndex build(OkvedData okvedData) {
+        List<OkvedEntry> entries = okvedData.getEntries();
+        return build(entries, OkvedDelta.initialRanks(entries.size()));
+    }
+
+    /**
+     * Строим индекс по записям с заданными рангами.
+     *
+     * @param entries записи ОКВЭД
+     * @param ranks   ранги записей, возрастающие вместе с позицией
+     * @return построенный индекс
+     * @throws IllegalArgumentException если размеры списков различаются
+     */
+    public static OkvedSuffixIndex build(List<OkvedEntry> entries, long[] ranks) {
+        OkvedIndexBuildEvent event = new OkvedIndexBuildEvent();
+        event.begin();
+
+        OkvedSuffixIndex index = new OkvedSuffixIndex(SuffixIndex.build(entries, ranks));
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.indexType = "suffix-trie";
+            event.entryCount = entries.size();
+            event.commit();
+        }
+        return index;
+    }
+
+    /**
+     * Возвращаем новый индекс с добавленной записью.
+     *
+     * @param entry запись ОКВЭД
+     * @param rank  ранг записи (уникальный в пределах индекса)
+     * @return новый индекс; текущий не изменяется
+     */
+    public OkvedSuffixIndex with(OkvedEntry entry, long rank) {
+        return new OkvedSuffixIndex(trie.with(entry, rank));
+    }
+
+    /**
+     * Возвращаем новый индекс без указанной записи.
+     *
+     * @param entry запись ОКВЭД
+     * @param rank  ранг, с которым запись была добавлена
+     * @return новый индекс; текущий не изменяется
+     * @throws IllegalArgumentException если записи с таким рангом нет в индексе
+     */
+    public OkvedSuffixIndex without(OkvedEntry entry, long rank) {
+        return new OkvedSuffixIndex(trie.without(entry, rank));
+    }
+
+    /**
+     * Применяем разницу между версиями справочника.
+     *
+     * <p>Стоимость пропорциональна количеству изменённых записей.
+     *
+     * @param delta разница, вычисленная относительно записей этого индекса
+     * @return новый индекс; текущий не изменяется
+     * @throws IllegalArgumentException если порядок записей не сохранён или запись отсутствует
+     */
+    public OkvedSuffixIndex apply(OkvedDelta delta) {
+        if (!delta.isOrderPreserved()) {
+            throw new IllegalArgumentException("Порядок записей изменился: индекс нужно перестроить.");
+        }
+
+        OkvedIndexBuildEvent event = new OkvedIndexBuildEvent();
+        event.begin();
+
+        SuffixIndex<OkvedEntry> patched = trie;
+        for (OkvedDelta.Change change : delta.getRemoved()) {
+            patched = patched.without(change.getOldEntry(), change.getRank());
+        }
+        for (OkvedDelta.Change change : delta.getRenamed()) {
+            patched = patched.without(change.getOldEntry(), change.getRank())
+                    .with(change.getNewEntry(), change.getRank());
+        }
+        for (OkvedDelta.Change change : delta.getAdded()) {
+            patched = patched.with(change.getNewEntry(), change.getRank());
+        }
+        OkvedSuffixIndex index = new OkvedSuffixIndex(patched);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.indexType = "suffix-trie-patch";
+            event.entryCount = delta.size();
+            event.commit();
+        }
+        return index;
+    }
+
+    /**
+     * Проверяем, что индексы дают одинаковые результаты для любого номера.
+     *
+     * @param other индекс для сравнения
+     * @return true, если индексы эквивалентны
+     * @see SuffixIndex#sameStructure(SuffixIndex)
+     */
+    boolean sameStructure(OkvedSuffixIndex other) {
+        return trie.sameStructure(other.trie);
+    }
+
+    /**
+     * Возвращаем количество записей в индексе.
+     *
+     * @return количество записей
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Возвращаем корень дерева для упаковки в {@link OffHeapOkvedIndex}.
+     *
+     * @return корень; null для пустого индекса
+     */
+    SuffixIndex.Node<OkvedEntry> root() {
+        return trie.root();
+    }
+
+    /**
+     * Находим запись с максимальным совпадением по окончанию цифр номера.
+     *
+     * @param phoneDigits цифры номера без префикса {@code +7}
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     * @throws IllegalStateException если индекс пуст
+     */
+    BestMatchResult findBestMatch(String phoneDigits) {
+        if (trie.size() == 0) {
+            throw new IllegalStateException("Справочник ОКВЭД не содержит записей.");
+        }
+        return trie.findBestMatch(phoneDigits, BestMatchResult::new);
+    }
+}
@@ -0,0 +1,205 @@
+package com.okvedTest.Okved;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Одна версия справочника ОКВЭД в {@link VersionedOkvedStore}.
+ *
+ * <p>Базовая версия хранит полный список записей. Остальные версии хранят только
+ * разницу с базовой ({@link OkvedDelta}) и индекс, полученный из индекса базовой
+ * версии копированием изменённых путей: неизменённые записи {@link OkvedEntry}
+ * и узлы индекса разделяются между версиями.
+ *
+ * <p>Если порядок записей в новой версии несовместим с базовой,
+ * версия хранит собственный список и индекс, но неизменённые записи
+ * по-прежнему берутся из базовой версии.
+ *
+ * <p>Экземпляр неизменяем и потокобезопасен.
+ */
+public final class OkvedVersion {
+
+    private final String label;
+
+    /**
+     * Базовая версия; null, если версия хранит полный список записей.
+     */
+    private final OkvedVersion base;
+
+    /**
+     * Полный список записей; null для версии-разницы.
+     */
+    private final OkvedData data;
+
+    /**
+     * Ранги базовых записей, удалённых в этой версии.
+     */
+    private final Set<Long> removedRanks;
+
+    /**
+     * Переименованные записи по рангу базовой записи.
+     */
+    private final Map<Long, OkvedEntry> renamed;
+
+    /**
+     * Добавленные записи по рангу.
+     */
+    private final TreeMap<Long, OkvedEntry> added;
+
+    private final OkvedSuffixIndex index;
+
+    private final int size;
+
+    private OkvedVersion(String label,
+                         OkvedVersion base,
+                         OkvedData data,
+                         Set<Long> removedRanks,
+                         Map<Long, OkvedEntry> renamed,
+                         TreeMap<Long, OkvedEntry> added,
+                         OkvedSuffixIndex index) {
+        this.label = label;
+        this.base = base;
+        this.data = data;
+        this.removedRanks = removedRanks;
+        this.renamed = renamed;
+        this.added = added;
+        this.index = index;
+        this.size = index.size();
+    }
+
+    /**
+     * Создаём версию с полным списком записей.
+     *
+     * @param label     метка версии
+     * @param okvedData данные справочника
+     * @return версия
+     */
+    static OkvedVersion full(String label, OkvedData okvedData) {
+        return new OkvedVersion(label, null, okvedData,
+                Collections.emptySet(), Collections.emptyMap(), new TreeMap<>(),
+                OkvedSuffixIndex.build(okvedData));
+    }
+
+    /**
+     * Создаём версию как разницу с базовой.
+     *
+     * @param label     метка версии
+     * @param base      базовая версия с полным списком записей
+     * @param okvedData данные новой версии
+     * @return версия
+     */
+    static OkvedVersion derive(String label, OkvedVersion base, OkvedData okvedData) {
+        List<OkvedEntry> baseEntries = base.data.getEntries();
+        OkvedDelta delta = OkvedDelta.compute(
+                baseEntries, OkvedDelta.initialRanks(baseEntries.size()), okvedData.getEntries());
+
+        if (!delta.isOrderPreserved()) {
+            return full(label, new OkvedData(new ArrayList<>(delta.getTargetEntries())));
+        }
+
+        Set<Long> removedRanks = new HashSet<>();
+        for (OkvedDelta.Change change : delta.getRemoved()) {
+            removedRanks.add(change.getRank());
+        }
+        Map<Long, OkvedEntry> renamed = new TreeMap<>();
+        for (OkvedDelta.Change change : delta.getRenamed()) {
+            renamed.put(change.getRank(), change.getNewEntry());
+        }
+        TreeMap<Long, OkvedEntry> added = new TreeMap<>();
+        for (OkvedDelta.Change change : delta.getAdded()) {
+            added.put(change.getRank(), change.getNewEntry());
+        }
+
+        return new OkvedVersion(label, base, null,
+                Collections.unmodifiableSet(removedRanks),
+                Collections.unmodifiableMap(renamed),
+                added,
+                base.index.apply(delta));
+    }
+
+    /**
+     * Возвращаем метку версии.
+     *
+     * @return метка
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Возвращаем количество записей в версии.
+     *
+     * @return количество записей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяем, хранит ли версия только разницу с базовой.
+     *
+     * @return true для версии-разницы
+     */
+    public boolean isDelta() {
+        return base != null;
+    }
+
+    /**
+     * Возвращаем количество записей, отличающихся от базовой версии.
+     *
+     * @return количество удалённых, переименованных и добавленных записей; 0 для полной версии
+     */
+    public int getChangeCount() {
+        return removedRanks.size() + renamed.size() + added.size();
+    }
+
+    /**
+     * Возвращаем индекс поиска этой версии.
+     *
+     * @return индекс
+     */
+    public OkvedSuffixIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Собираем полный список записей версии.
+     *
+     * <p>Для версии-разницы список строится заново при каждом вызове;
+     * порядок совпадает с порядком записей в загруженном справочнике.
+     *
+     * @return данные справочника этой версии
+     */
+    public OkvedData toOkvedData() {
+        if (data != null) {
+            return data;
+        }
+
+        List<OkvedEntry> baseEntries = base.data.getEntries();
+        List<OkvedEntry> entries = new ArrayList<>(size);
+        Map.Entry<Long, OkvedEntry> nextAdded = added.firstEntry();
+
+        for (int i = 0; i < baseEntries.size(); i++) {
+            long rank = i * OkvedDelta.RANK_STEP;
+            while (nextAdded != null && nextAdded.getKey() < rank) {
+                entries.add(nextAdded.getValue());
+                nextAdded = added.higherEntry(nextAdded.getKey());
+            }
+            if (removedRanks.contains(rank)) {
+                continue;
+            }
+            entries.add(renamed.getOrDefault(rank, baseEntries.get(i)));
+        }
+        while (nextAdded != null) {
+            entries.add(nextAdded.getValue());
+            nextAdded = added.higherEntry(nextAdded.getKey());
+        }
+
+        return new OkvedData(entries);
+    }
+}
@@ -0,0 +1,163 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.BestMatchResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Хранилище нескольких версий справочника ОКВЭД для параллельных запросов
+ * во время смены версий, A/B-сравнения и аудита.
+ *
+ * <p>Первая опубликованная версия становится базовой; каждая следующая хранится
+ * как разница с ней (см. {@link OkvedVersion}), поэтому две близкие версии
+ * занимают немногим больше памяти, чем одна.
+ *
+ * <p>Пример использования:
+ * <pre>
+ * VersionedOkvedStore store = new VersionedOkvedStore();
+ * store.publish("2024-01", oldData);
+ * store.publish("2024-07", newData);
+ * BestMatchResult result = store.findBestMatch("2024-07", "+79123456789");
+ * List&lt;MatchDiff&gt; diffs = store.diffResults("2024-01", "2024-07", phones);
+ * </pre>
+ *
+ * <p>Экземпляр потокобезопасен: публикация синхронизирована,
+ * поиск работает с неизменяемыми версиями без блокировок.
+ */
+public class VersionedOkvedStore {
+
+    private final OkvedMatcher matcher = new OkvedMatcher();
+
+    /**
+     * Версии в порядке публикации; заменяется целиком при каждом изменении.
+     */
+    private volatile Map<String, OkvedVersion> versions = Collections.emptyMap();
+
+    private OkvedVersion base;
+
+    /**
+     * Публикуем новую версию справочника.
+     *
+     * @param label     уникальная метка версии
+     * @param okvedData данные справочника
+     * @return опубликованная версия
+     * @throws IllegalArgumentException если версия с такой меткой уже существует
+     */
+    public synchronized OkvedVersion publish(String label, OkvedData okvedData) {
+        Objects.requireNonNull(label, "Метка версии не может быть null.");
+        Objects.requireNonNull(okvedData, "Данные ОКВЭД не могут быть null.");
+        if (versions.containsKey(label)) {
+            throw new IllegalArgumentException("Версия ОКВЭД уже существует: " + label);
+        }
+
+        OkvedVersion version;
+        if (base == null) {
+            version = OkvedVersion.full(label, okvedData);
+            base = version;
+        } else {
+            version = OkvedVersion.derive(label, base, okvedData);
+        }
+
+        Map<String, OkvedVersion> updated = new LinkedHashMap<>(versions);
+        updated.put(label, version);
+        versions = Collections.unmodifiableMap(updated);
+        return version;
+    }
+
+    /**
+     * Удаляем версию из хранилища.
+     *
+     * <p>Базовую версию удалить нельзя: на ней основаны остальные версии.
+     *
+     * @param label метка версии
+     * @throws IllegalArgumentException если версия не найдена или является базовой
+     */
+    public synchronized void remove(String label) {
+        OkvedVersion version = getVersion(label);
+        if (version == base) {
+            throw new IllegalArgumentException("Базовую версию ОКВЭД нельзя удалить: " + label);
+        }
+
+        Map<String, OkvedVersion> updated = new LinkedHashMap<>(versions);
+        updated.remove(label);
+        versions = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Возвращаем версию по метке.
+     *
+     * @param label метка версии
+     * @return версия справочника
+     * @throws IllegalArgumentException если версия не найдена
+     */
+    public OkvedVersion getVersion(String label) {
+        OkvedVersion version = versions.get(label);
+        if (version == null) {
+            throw new IllegalArgumentException("Версия ОКВЭД не найдена: " + label);
+        }
+        return version;
+    }
+
+    /**
+     * Возвращаем метки всех версий в порядке публикации.
+     *
+     * @return неизменяемый набор меток
+     */
+    public Set<String> getLabels() {
+        return versions.keySet();
+    }
+
+    /**
+     * Находим код ОКВЭД в указанной версии справочника.
+     *
+     * @param label           метка версии
+     * @param normalizedPhone нормализованный номер в формате {@code +79XXXXXXXXX}
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     * @throws IllegalArgumentException если версия не найдена или номер некорректен
+     */
+    public BestMatchResult findBestMatch(String label, String normalizedPhone) {
+        return matcher.findBestMatch(normalizedPhone, getVersion(label).getIndex());
+    }
+
+    /**
+     * Сравниваем результаты поиска в двух версиях для списка номеров.
+     *
+     * <p>Результаты различаются, если отличается код, название или длина совпадения.
+     *
+     * @param fromLabel        метка исходной версии
+     * @param toLabel          метка сравниваемой версии
+     * @param normalizedPhones нормализованные номера
+     * @return расхождения в порядке номеров; номера с одинаковым результатом не включаются
+     * @throws IllegalArgumentException если версия не найдена или номер некорректен
+     */
+    public List<MatchDiff> diffResults(String fromLabel, String toLabel, List<String> normalizedPhones) {
+        OkvedSuffixIndex fromIndex = getVersion(fromLabel).getIndex();
+        OkvedSuffixIndex toIndex = getVersion(toLabel).getIndex();
+
+        List<MatchDiff> diffs = new ArrayList<>();
+        for (String phone : normalizedPhones) {
+            BestMatchResult fromResult = matcher.findBestMatch(phone, fromIndex);
+            BestMatchResult toResult = matcher.findBestMatch(phone, toIndex);
+            if (!sameResult(fromResult, toResult)) {
+                diffs.add(new MatchDiff(phone, fromResult, toResult));
+            }
+        }
+        return diffs;
+    }
+
+    private static boolean sameResult(BestMatchResult a, BestMatchResult b) {
+        if (a.getMatchLength() != b.getMatchLength()) {
+            return false;
+        }
+        OkvedEntry left = a.getEntry();
+        OkvedEntry right = b.getEntry();
+        return left == right
+                || (left.getCode().equals(right.getCode()) && left.getName().equals(right.getName()));
+    }
+}
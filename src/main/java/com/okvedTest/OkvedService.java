@@ -0,0 +1,283 @@
+package com.okvedTest;
+
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Exception.PhoneNormalizationException;
+import com.okvedTest.Okved.OkvedLoader;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.OkvedSnapshot;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Долгоживущий сервис поиска ОКВЭД по телефонному номеру.
+ *
+ * <p>Владеет одним загрузчиком, одним справочником и одним поиском на всё время
+ * работы вместо создания их на каждый запрос. Жизненный цикл:
+ * <ol>
+ *   <li>{@link State#NEW} — сервис создан, запросы не принимаются</li>
+ *   <li>{@link #start()} — загружаем справочник и прогреваем JIT на синтетических номерах</li>
+ *   <li>{@link State#READY} — сервис принимает запросы</li>
+ *   <li>{@link #stop()} — освобождаем справочник; повторный запуск не поддерживается</li>
+ * </ol>
+ *
+ * <p>Потокобезопасность: {@link #normalize(String)}, {@link #findBestMatch(String)}
+ * и {@link #find(String)} можно вызывать из любого числа потоков одновременно.
+ * {@link PhoneNormalizer} и {@link OkvedMatcher} не имеют изменяемого состояния,
+ * а справочник хранится в неизменяемом {@link OkvedSnapshot}, который
+ * {@link #reload()} заменяет атомарно. Методы жизненного цикла синхронизированы.
+ */
+public class OkvedService {
+
+    /**
+     * Состояние жизненного цикла сервиса.
+     */
+    public enum State {
+        NEW,
+        STARTING,
+        READY,
+        STOPPED,
+        FAILED
+    }
+
+    /**
+     * Количество прогревочных вызовов по умолчанию.
+     *
+     * <p>Превышает порог компиляции C2 (10 000 вызовов), чтобы горячие методы
+     * нормализации и поиска были скомпилированы до первого реального запроса.
+     */
+    public static final int DEFAULT_WARMUP_ITERATIONS = 20_000;
+
+    private final String url;
+
+    private final Path path;
+
+    private final int warmupIterations;
+
+    private final PhoneNormalizer normalizer = new PhoneNormalizer();
+
+    private final OkvedLoader loader = new OkvedLoader();
+
+    private final OkvedMatcher matcher = new OkvedMatcher();
+
+    private volatile State state = State.NEW;
+
+    private volatile OkvedSnapshot snapshot;
+
+    /**
+     * Сумма результатов прогрева; сохраняем, чтобы JIT не удалил вызовы как мёртвый код.
+     */
+    private volatile long warmupChecksum;
+
+    private OkvedService(String url, Path path, int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Количество прогревочных вызовов не может быть отрицательным.");
+        }
+        this.url = url;
+        this.path = path;
+        this.warmupIterations = warmupIterations;
+    }
+
+    /**
+     * Создаём сервис, загружающий справочник по URL.
+     *
+     * @param url              URL JSON-файла справочника
+     * @param warmupIterations количество прогревочных вызовов; 0 — без прогрева
+     * @return сервис в состоянии {@link State#NEW}
+     */
+    public static OkvedService forUrl(String url, int warmupIterations) {
+        return new OkvedService(Objects.requireNonNull(url, "URL не может быть null."), null, warmupIterations);
+    }
+
+    /**
+     * Создаём сервис, загружающий справочник из локального файла.
+     *
+     * @param path             путь к JSON-файлу справочника
+     * @param warmupIterations количество прогревочных вызовов; 0 — без прогрева
+     * @return сервис в состоянии {@link State#NEW}
+     */
+    public static OkvedService forPath(Path path, int warmupIterations) {
+        return new OkvedService(null, Objects.requireNonNull(path, "Путь не может быть null."), warmupIterations);
+    }
+
+    /**
+     * Загружаем справочник, прогреваем JIT и переводим сервис в состояние {@link State#READY}.
+     *
+     * <p>Повторный вызов для уже запущенного сервиса ничего не делает.
+     *
+     * @throws OkvedLoadException    если не удалось загрузить справочник (сервис переходит в {@link State#FAILED})
+     * @throws IllegalStateException если сервис остановлен или не смог запуститься
+     */
+    public synchronized void start() throws OkvedLoadException {
+        if (state == State.READY) {
+            return;
+        }
+        if (state != State.NEW) {
+            throw new IllegalStateException("Сервис ОКВЭД нельзя запустить в состоянии " + state + ".");
+        }
+
+        state = State.STARTING;
+        try {
+            snapshot = load(null);
+            warmUp();
+            state = State.READY;
+        } catch (OkvedLoadException | RuntimeException e) {
+            snapshot = null;
+            state = State.FAILED;
+            throw e;
+        }
+    }
+
+    /**
+     * Перечитываем справочник из источника.
+     *
+     * <p>Неизменённый источник не скачивается повторно, изменённый применяется
+     * к индексу по разнице записей. Запросы, выполняющиеся параллельно,
+     * видят либо старый, либо новый справочник целиком.
+     *
+     * @throws OkvedLoadException    если не удалось загрузить справочник (остаётся прежний)
+     * @throws IllegalStateException если сервис не готов
+     */
+    public synchronized void reload() throws OkvedLoadException {
+        snapshot = load(readySnapshot());
+    }
+
+    /**
+     * Останавливаем сервис и освобождаем справочник.
+     */
+    public synchronized void stop() {
+        state = State.STOPPED;
+        snapshot = null;
+    }
+
+    /**
+     * Возвращаем текущее состояние сервиса.
+     *
+     * @return состояние
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Проверяем, готов ли сервис принимать запросы.
+     *
+     * @return true в состоянии {@link State#READY}
+     */
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    /**
+     * Нормализуем телефонный номер.
+     *
+     * @param input исходная строка с номером телефона
+     * @return нормализованный номер в формате +79XXXXXXXXX
+     * @throws PhoneNormalizationException если номер невозможно нормализовать
+     */
+    public String normalize(String input) throws PhoneNormalizationException {
+        return normalizer.normalize(input);
+    }
+
+    /**
+     * Находим код ОКВЭД для нормализованного номера.
+     *
+     * @param normalizedPhone нормализованный номер в формате {@code +79XXXXXXXXX}
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     * @throws IllegalStateException если сервис не готов
+     */
+    public BestMatchResult findBestMatch(String normalizedPhone) {
+        return matcher.findBestMatch(normalizedPhone, readySnapshot().getIndex());
+    }
+
+    /**
+     * Нормализуем номер и находим для него код ОКВЭД.
+     *
+     * @param input исходная строка с номером телефона
+     * @return результат с найденным ОКВЭД и длиной совпадения
+     * @throws PhoneNormalizationException если номер невозможно нормализовать
+     * @throws IllegalStateException       если сервис не готов
+     */
+    public BestMatchResult find(String input) throws PhoneNormalizationException {
+        return findBestMatch(normalize(input));
+    }
+
+    /**
+     * Возвращаем справочник, если сервис готов.
+     *
+     * @return текущий снимок
+     * @throws IllegalStateException если сервис не в состоянии {@link State#READY}
+     */
+    private OkvedSnapshot readySnapshot() {
+        OkvedSnapshot current = snapshot;
+        if (state != State.READY || current == null) {
+            throw new IllegalStateException("Сервис ОКВЭД не готов: " + state + ".");
+        }
+        return current;
+    }
+
+    private OkvedSnapshot load(OkvedSnapshot current) throws OkvedLoadException {
+        return url != null
+                ? loader.reloadFromUrl(url, current)
+                : loader.reloadFromPath(path, current);
+    }
+
+    /**
+     * Прогреваем нормализацию и поиск на синтетических номерах.
+     *
+     * <p>Номера чередуют форматы ввода ({@code +7 (9xx) ...}, {@code 8 9xx ...}, 10 цифр),
+     * чтобы JIT собрал профиль по всем веткам нормализации. Абонентская часть
+     * дополняется ведущими нулями, поэтому все номера корректны и прогревают
+     * тот же путь, что и реальные запросы. Генератор использует фиксированный
+     * seed, поэтому прогрев воспроизводим.
+     */
+    private void warmUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder phone = new StringBuilder(24);
+        long checksum = 0;
+
+        for (int i = 0; i < warmupIterations; i++) {
+            int subscriber = random.nextInt(1_000_000_000);
+            phone.setLength(0);
+            switch (i % 3) {
+                case 0:
+                    phone.append("+7 (9");
+                    appendPadded(phone, subscriber / 10_000_000, 2);
+                    phone.append(") ");
+                    appendPadded(phone, subscriber % 10_000_000, 7);
+                    break;
+                case 1:
+                    phone.append("8 9");
+                    appendPadded(phone, subscriber, 9);
+                    break;
+                default:
+                    phone.append('9');
+                    appendPadded(phone, subscriber, 9);
+                    break;
+            }
+            try {
+                String normalizedPhone = normalizer.normalize(phone.toString());
+                checksum += matcher.findBestMatch(normalizedPhone, snapshot.getIndex()).getMatchLength();
+            } catch (PhoneNormalizationException e) {
+                throw new IllegalStateException("Прогревочный номер не прошёл нормализацию: " + phone, e);
+            }
+        }
+        warmupChecksum = checksum;
+    }
+
+    /**
+     * Дописываем число с ведущими нулями до заданной ширины.
+     *
+     * @param target строка для дописывания
+     * @param value  неотрицательное число
+     * @param width  количество цифр
+     */
+    private static void appendPadded(StringBuilder target, int value, int width) {
+        int start = target.length();
+        target.append(value);
+        while (target.length() - start < width) {
+            target.insert(start, '0');
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.okvedTest;
 
 import com.okvedTest.Exception.PhoneNormalizationException;
+import com.okvedTest.Exception.PhoneNormalizationException.Reason;
+import com.okvedTest.Jfr.PhoneNormalizationFailedEvent;
 
 import java.util.regex.Pattern;
 
@@ -43,7 +45,7 @@ public class PhoneNormalizer {
      */
     public String normalize(String input) throws PhoneNormalizationException {
         if (input == null || input.isEmpty()) {
-            throw new PhoneNormalizationException("Номер не может быть пустым.");
+            throw failure("Номер не может быть пустым.", Reason.EMPTY);
         }
 
         // Удаляем все кроме цифр
@@ -51,8 +53,9 @@ public class PhoneNormalizer {
 
         // Проверяем длину
         if (digitsOnly.length() < 10 || digitsOnly.length() > 11) {
-            throw new PhoneNormalizationException(
-                    "Неверная длина номера: " + digitsOnly.length() + " цифр. Ожидается 10 или 11 цифр"
+            throw failure(
+                    "Неверная длина номера: " + digitsOnly.length() + " цифр. Ожидается 10 или 11 цифр",
+                    Reason.INVALID_LENGTH
             );
         }
 
@@ -72,19 +75,39 @@ public class PhoneNormalizer {
 
         // Проверяем, что начинается с 7
         if (!normalized.startsWith("7")) {
-            throw new PhoneNormalizationException(
-                    "Номер должен начинаться с 7 или 8. Получено: " + normalized.charAt(0)
+            throw failure(
+                    "Номер должен начинаться с 7 или 8. Получено: " + normalized.charAt(0),
+                    Reason.INVALID_COUNTRY_CODE
             );
         }
 
         // Проверяем, что второй символ — 9 (код мобильного оператора)
         if (normalized.charAt(1) != '9') {
-            throw new PhoneNormalizationException(
-                    "Это не мобильный номер. Второй символ должен быть 9, получено: " + normalized.charAt(1)
+            throw failure(
+                    "Это не мобильный номер. Второй символ должен быть 9, получено: " + normalized.charAt(1),
+                    Reason.NOT_MOBILE
             );
         }
 
         // Формируем результат с плюсом
         return "+" + normalized;
     }
+
+    /**
+     * Создаём исключение нормализации и записываем событие JFR с категорией ошибки.
+     *
+     * @param message текст ошибки
+     * @param reason  категория ошибки
+     * @return исключение для выброса
+     */
+    private static PhoneNormalizationException failure(String message, Reason reason) {
+        if (PhoneNormalizationFailedEvent.enabled()) {
+            PhoneNormalizationFailedEvent event = new PhoneNormalizationFailedEvent();
+            if (event.shouldCommit()) {
+                event.reason = reason.name();
+                event.commit();
+            }
+        }
+        return new PhoneNormalizationException(message, reason);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Classifier.Classifier;
+import com.okvedTest.Classifier.ClassifierEngine;
+import com.okvedTest.Classifier.ClassifierEntry;
+import com.okvedTest.Classifier.ClassifierMatch;
+import com.okvedTest.Classifier.ReferenceEntry;
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Okved.ClassifierLoader;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedEntry;
+import com.okvedTest.Okved.OkvedMatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для поиска сразу по нескольким справочникам.
+ *
+ * <p>Результат по каждому справочнику сравниваем с линейным поиском
+ * {@link OkvedMatcher#findBestMatch(String, OkvedData)} по тем же записям.
+ */
+class ClassifierEngineTest {
+
+    private final OkvedMatcher matcher = new OkvedMatcher();
+
+    private static List<ReferenceEntry> randomEntries(Random random, int size, int maxGroups) {
+        List<ReferenceEntry> entries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            StringBuilder code = new StringBuilder();
+            code.append(random.nextInt(10)).append(random.nextInt(10));
+            int groups = random.nextInt(maxGroups + 1);
+            for (int g = 0; g < groups; g++) {
+                code.append('.');
+                int digits = 1 + random.nextInt(3);
+                for (int d = 0; d < digits; d++) {
+                    code.append(random.nextInt(10));
+                }
+            }
+            entries.add(new ReferenceEntry(code.toString(), "Запись " + i));
+        }
+        return entries;
+    }
+
+    private static OkvedData asOkvedData(Classifier classifier) {
+        List<OkvedEntry> entries = new ArrayList<>();
+        for (ClassifierEntry entry : classifier.getEntries()) {
+            entries.add(new OkvedEntry(entry.getCode(), entry.getName()));
+        }
+        return new OkvedData(entries);
+    }
+
+    /**
+     * Тест совпадения результатов однопроходного поиска по общему дереву
+     * с линейным поиском по каждому справочнику.
+     */
+    @Test
+    void testSinglePassMatchesLinearSearch() {
+        Random random = new Random(7);
+        List<Classifier> classifiers = List.of(
+                new Classifier(Classifier.OKVED, randomEntries(random, 400, 2)),
+                new Classifier("okpd2", randomEntries(random, 600, 3)),
+                new Classifier("region", randomEntries(random, 90, 0)));
+        ClassifierEngine engine = new ClassifierEngine(classifiers);
+
+        List<OkvedData> linear = new ArrayList<>();
+        for (Classifier classifier : classifiers) {
+            linear.add(asOkvedData(classifier));
+        }
+
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder phone = new StringBuilder("+79");
+            for (int d = 0; d < 9; d++) {
+                phone.append(random.nextInt(10));
+            }
+
+            List<ClassifierMatch> matches = engine.match(phone.toString());
+            assertEquals(classifiers.size(), matches.size());
+            for (int k = 0; k < classifiers.size(); k++) {
+                BestMatchResult expected = matcher.findBestMatch(phone.toString(), linear.get(k));
+                ClassifierMatch actual = matches.get(k);
+                assertEquals(classifiers.get(k).getId(), actual.getClassifierId());
+                assertEquals(expected.getEntry().getName(), actual.getEntry().getName(), phone.toString());
+                assertEquals(expected.getMatchLength(), actual.getMatchLength(), phone.toString());
+            }
+        }
+    }
+
+    /**
+     * Тест загрузки нескольких справочников и резервной стратегии для каждого из них.
+     */
+    @Test
+    void testLoadSeveralClassifiers(@TempDir Path tempDir) throws Exception {
+        Path okved = tempDir.resolve("okved.json");
+        Files.write(okved, ("[{\"code\":\"01\",\"name\":\"Растениеводство\",\"items\":["
+                + "{\"code\":\"56.78\",\"name\":\"Рестораны\"}]}]").getBytes(StandardCharsets.UTF_8));
+        Path regions = tempDir.resolve("regions.json");
+        Files.write(regions, ("[{\"code\":\"77\",\"name\":\"Москва\"},"
+                + "{\"code\":\"178\",\"name\":\"Санкт-Петербург\"}]").getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Path> sources = new LinkedHashMap<>();
+        sources.put(Classifier.OKVED, okved);
+        sources.put("region", regions);
+        ClassifierEngine engine = new ClassifierEngine(new ClassifierLoader().loadAllFromPaths(sources));
+
+        List<ClassifierMatch> matches = engine.match("+79000005678");
+
+        assertInstanceOf(OkvedEntry.class, matches.get(0).getEntry());
+        assertEquals("56.78", matches.get(0).getEntry().getCode());
+        assertEquals(4, matches.get(0).getMatchLength());
+        assertInstanceOf(ReferenceEntry.class, matches.get(1).getEntry());
+        assertEquals("Санкт-Петербург", matches.get(1).getEntry().getName());
+        assertEquals(2, matches.get(1).getMatchLength());
+
+        List<ClassifierMatch> fallback = engine.match("+79000000003");
+        assertTrue(fallback.get(0).isFallback());
+        assertEquals("01", fallback.get(0).getEntry().getCode());
+        assertTrue(fallback.get(1).isFallback());
+        assertEquals("77", fallback.get(1).getEntry().getCode());
+    }
+
+    /**
+     * Тест с повторяющимся идентификатором справочника.
+     */
+    @Test
+    void testDuplicateClassifierId() {
+        Classifier regions = new Classifier("region", List.of(new ReferenceEntry("77", "Москва")));
+
+        assertThrows(IllegalArgumentException.class, () -> new ClassifierEngine(List.of(regions, regions)));
+    }
+
+    /**
+     * Тест сообщения о справочнике без записей: в нём указан идентификатор справочника.
+     */
+    @Test
+    void testEmptyClassifierNamedInError(@TempDir Path tempDir) throws Exception {
+        Path regions = tempDir.resolve("regions.json");
+        Files.write(regions, "[{\"code\":\"A\",\"name\":\"Раздел\"}]".getBytes(StandardCharsets.UTF_8));
+
+        OkvedLoadException exception = assertThrows(OkvedLoadException.class,
+                () -> new ClassifierLoader().loadFromPath("region", regions));
+        assertTrue(exception.getMessage().contains("region"), exception.getMessage());
+        assertFalse(exception.getMessage().contains("ОКВЭД"), exception.getMessage());
+    }
+}
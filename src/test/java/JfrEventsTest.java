@@ -0,0 +1,114 @@
+import com.okvedTest.Exception.PhoneNormalizationException;
+import com.okvedTest.Jfr.OkvedMatchEvent;
+import com.okvedTest.Jfr.PhoneNormalizationFailedEvent;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedLoader;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.OkvedSuffixIndex;
+import com.okvedTest.PhoneNormalizer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для событий JFR: события записываются в дамп записи с заполненными полями.
+ */
+class JfrEventsTest {
+
+    private static final String PARSE = "com.okvedTest.OkvedParse";
+
+    private static final String INDEX_BUILD = "com.okvedTest.OkvedIndexBuild";
+
+    private static final String MATCH = "com.okvedTest.OkvedMatch";
+
+    private static final String NORMALIZATION_FAILED = "com.okvedTest.PhoneNormalizationFailed";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Тест записи событий разбора, построения индекса, поиска и ошибки нормализации.
+     */
+    @Test
+    void testEventsAreRecorded() throws Exception {
+        Path file = tempDir.resolve("okved.json");
+        Files.write(file, ("[{\"code\":\"01\",\"name\":\"Растениеводство\",\"items\":["
+                + "{\"code\":\"56.78\",\"name\":\"Рестораны\"}]}]").getBytes(StandardCharsets.UTF_8));
+        Path dump = tempDir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            // Снимаем порог разбора, чтобы записать и быстрый разбор маленького файла;
+            // поиск записывается с настройками по умолчанию
+            recording.enable(PARSE).withThreshold(Duration.ZERO);
+            recording.enable(INDEX_BUILD);
+            recording.enable(MATCH);
+            recording.enable(NORMALIZATION_FAILED);
+            recording.start();
+
+            OkvedData data = new OkvedLoader().loadFromPath(file);
+            OkvedSuffixIndex index = OkvedSuffixIndex.build(data);
+            OkvedMatcher matcher = new OkvedMatcher();
+            // Поиск записывается выборочно (1 из 1000), поэтому вызовов достаточно много
+            for (int i = 0; i < 50_000; i++) {
+                matcher.findBestMatch("+79000005678", index);
+            }
+            assertThrows(PhoneNormalizationException.class, () -> new PhoneNormalizer().normalize("+7 (812) 123-45-67"));
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        RecordedEvent parse = single(events, PARSE);
+        assertEquals("mmap", parse.getString("parser"));
+        assertEquals(file.toString(), parse.getString("source"));
+        assertEquals(2, parse.getInt("entryCount"));
+        assertEquals(Files.size(file), parse.getLong("bytes"));
+
+        RecordedEvent build = single(events, INDEX_BUILD);
+        assertEquals("suffix-trie", build.getString("indexType"));
+        assertEquals(2, build.getInt("entryCount"));
+
+        List<RecordedEvent> matches = byName(events, MATCH);
+        assertFalse(matches.isEmpty());
+        assertEquals("56.78", matches.get(0).getString("code"));
+        assertEquals(4, matches.get(0).getInt("matchLength"));
+        assertFalse(matches.get(0).getBoolean("fallback"));
+
+        RecordedEvent failure = single(events, NORMALIZATION_FAILED);
+        assertEquals("NOT_MOBILE", failure.getString("reason"));
+    }
+
+    /**
+     * Тест того, что без записи JFR события поиска и ошибки нормализации не создаются.
+     */
+    @Test
+    void testEventsDisabledWithoutRecording() {
+        assertFalse(OkvedMatchEvent.sample());
+        assertFalse(PhoneNormalizationFailedEvent.enabled());
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> found = byName(events, name);
+        assertEquals(1, found.size(), name);
+        return found.get(0);
+    }
+}
@@ -0,0 +1,65 @@
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Load.LoadOptions;
+import com.okvedTest.Load.LoadTest;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedMatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для запуска нагрузочного теста и разбора его параметров.
+ */
+class LoadTestTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Тест сбоя рабочего потока во время прогрева: остальные потоки не зависают,
+     * а ошибка передаётся вызывающему коду.
+     */
+    @Test
+    void testWorkerFailureDoesNotHang() throws Exception {
+        Path dictionary = tempDir.resolve("okved.json");
+        Files.write(dictionary, "[{\"code\":\"01.11\",\"name\":\"Растениеводство\"}]".getBytes(StandardCharsets.UTF_8));
+        LoadOptions options = LoadOptions.parse(new String[]{
+                "--dictionary", dictionary.toString(),
+                "--threads", "3",
+                "--warmup", "1",
+                "--duration", "1",
+                "--mix", "plus7=1"});
+
+        OkvedMatcher failing = new OkvedMatcher() {
+            @Override
+            public BestMatchResult findBestMatch(String normalizedPhone, OkvedData okvedData) {
+                if (Thread.currentThread().getName().equals("load-worker-0")) {
+                    throw new AssertionError("Внедрённый сбой");
+                }
+                return super.findBestMatch(normalizedPhone, okvedData);
+            }
+        };
+
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(IllegalStateException.class, () -> new LoadTest(failing).run(options)));
+        assertInstanceOf(AssertionError.class, e.getCause());
+    }
+
+    /**
+     * Тест проверки диапазона длительности прогрева.
+     */
+    @Test
+    void testWarmupOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadOptions.parse(new String[]{"--warmup", "4294967296"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadOptions.parse(new String[]{"--warmup", "-1"}));
+        assertEquals(0, LoadOptions.parse(new String[]{"--warmup", "0"}).getWarmupSeconds());
+    }
+}
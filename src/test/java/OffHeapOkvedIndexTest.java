@@ -0,0 +1,193 @@
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Okved.OffHeapOkvedIndex;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedEntry;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.OkvedSuffixIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для индекса ОКВЭД вне кучи.
+ *
+ * <p>Результаты поиска сравниваем с линейным поиском
+ * {@link OkvedMatcher#findBestMatch(String, OkvedData)}, а повреждённые файлы
+ * должны отклоняться при открытии.
+ */
+class OffHeapOkvedIndexTest {
+
+    private final OkvedMatcher matcher = new OkvedMatcher();
+
+    @TempDir
+    Path tempDir;
+
+    private static OkvedData randomData(Random random, int size) {
+        List<OkvedEntry> entries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            StringBuilder code = new StringBuilder();
+            code.append(random.nextInt(10)).append(random.nextInt(10));
+            int groups = random.nextInt(3);
+            for (int g = 0; g < groups; g++) {
+                code.append('.');
+                int digits = 1 + random.nextInt(2);
+                for (int d = 0; d < digits; d++) {
+                    code.append(random.nextInt(10));
+                }
+            }
+            entries.add(new OkvedEntry(code.toString(), "Вид " + i));
+        }
+        return new OkvedData(entries);
+    }
+
+    private static List<String> randomPhones(Random random, int count) {
+        List<String> phones = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder phone = new StringBuilder("+79");
+            for (int d = 0; d < 9; d++) {
+                phone.append(random.nextInt(10));
+            }
+            phones.add(phone.toString());
+        }
+        return phones;
+    }
+
+    private static OkvedData sampleData() {
+        return new OkvedData(List.of(
+                new OkvedEntry("01.11", "Выращивание зерновых"),
+                new OkvedEntry("56.78", "Рестораны «Ёлка»"),
+                new OkvedEntry("02", "Лесоводство")));
+    }
+
+    private void assertSameMatches(OkvedData data, OffHeapOkvedIndex index, List<String> phones) {
+        for (String phone : phones) {
+            BestMatchResult expected = matcher.findBestMatch(phone, data);
+            BestMatchResult actual = matcher.findBestMatch(phone, index);
+            assertEquals(expected.getEntry().getCode(), actual.getEntry().getCode(), phone);
+            assertEquals(expected.getEntry().getName(), actual.getEntry().getName(), phone);
+            assertEquals(expected.getEntry().getDigitsOnly(), actual.getEntry().getDigitsOnly(), phone);
+            assertEquals(expected.getMatchLength(), actual.getMatchLength(), phone);
+        }
+    }
+
+    /**
+     * Тест совпадения поиска по индексу вне кучи с линейным поиском.
+     */
+    @Test
+    void testMatchesLinearSearch() {
+        Random random = new Random(3);
+        OkvedData data = randomData(random, 500);
+        OffHeapOkvedIndex index = OffHeapOkvedIndex.build(OkvedSuffixIndex.build(data));
+
+        assertSameMatches(data, index, randomPhones(random, 5000));
+    }
+
+    /**
+     * Тест открытия файла: записи не декодируются в кучу, поэтому прирост живой кучи
+     * мал по сравнению с размером индекса, а результаты совпадают с линейным поиском.
+     */
+    @Test
+    void testOpenKeepsEntriesOffHeap() throws Exception {
+        Random random = new Random(5);
+        OkvedData data = randomData(random, 100_000);
+        Path file = tempDir.resolve("okved.idx");
+        OffHeapOkvedIndex.build(OkvedSuffixIndex.build(data), file);
+        List<String> phones = randomPhones(random, 5000);
+
+        long before = usedHeap();
+        OffHeapOkvedIndex opened = OffHeapOkvedIndex.open(file);
+        long after = usedHeap();
+
+        assertEquals(Files.size(file), opened.sizeInBytes());
+        assertTrue(after - before < opened.sizeInBytes() / 10,
+                "прирост кучи " + (after - before) + " байт при индексе " + opened.sizeInBytes() + " байт");
+        assertSameMatches(data, opened, phones);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Тест кириллицы в названиях и резервной стратегии после повторного открытия.
+     */
+    @Test
+    void testFileRoundTripNamesAndFallback() throws Exception {
+        Path file = tempDir.resolve("okved.idx");
+        OffHeapOkvedIndex.build(OkvedSuffixIndex.build(sampleData()), file);
+
+        OffHeapOkvedIndex opened = OffHeapOkvedIndex.open(file);
+
+        BestMatchResult result = matcher.findBestMatch("+79000005678", opened);
+        assertEquals("Рестораны «Ёлка»", result.getEntry().getName());
+        assertEquals(4, result.getMatchLength());
+        BestMatchResult fallback = matcher.findBestMatch("+79000000005", opened);
+        assertTrue(fallback.isFallback());
+        assertEquals("02", fallback.getEntry().getCode());
+    }
+
+    /**
+     * Тест обрезанного файла: любая длина короче исходной отклоняется при открытии.
+     */
+    @Test
+    void testTruncatedFile() throws Exception {
+        Path file = tempDir.resolve("okved.idx");
+        OffHeapOkvedIndex.build(OkvedSuffixIndex.build(sampleData()), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = tempDir.resolve("truncated.idx");
+        for (int length : new int[]{0, 19, 20, 100, bytes.length - 1}) {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(OkvedLoadException.class, () -> OffHeapOkvedIndex.open(truncated), "длина " + length);
+        }
+    }
+
+    /**
+     * Тест повреждённого заголовка и ссылок узлов.
+     */
+    @Test
+    void testCorruptFile() throws Exception {
+        Path file = tempDir.resolve("okved.idx");
+        OffHeapOkvedIndex.build(OkvedSuffixIndex.build(sampleData()), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Неверный magic
+        assertCorrupt(bytes, 0, 0x12345678);
+        // Число узлов, при котором смещение записей переполняет int
+        assertCorrupt(bytes, 2 * Integer.BYTES, Integer.MAX_VALUE / 8);
+        // Отрицательное число записей
+        assertCorrupt(bytes, 3 * Integer.BYTES, -1);
+        // Резервная запись за пределами записей
+        assertCorrupt(bytes, 4 * Integer.BYTES, 1000);
+        // Дочерний узел корня ссылается на сам корень
+        assertCorrupt(bytes, 5 * Integer.BYTES, 0);
+        // Лучшая запись корня за пределами записей
+        assertCorrupt(bytes, 15 * Integer.BYTES, 1000);
+    }
+
+    private void assertCorrupt(byte[] bytes, int offset, int value) throws Exception {
+        byte[] corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        Path file = tempDir.resolve("corrupt.idx");
+        Files.write(file, corrupt);
+
+        assertThrows(OkvedLoadException.class, () -> OffHeapOkvedIndex.open(file), "смещение " + offset);
+    }
+}
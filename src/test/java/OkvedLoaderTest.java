@@ -0,0 +1,260 @@
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedEntry;
+import com.okvedTest.Okved.OkvedLoader;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.OkvedSnapshot;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для загрузки справочника ОКВЭД из локального файла.
+ *
+ * <p>Проверяем побайтовый разбор JSON: порядок записей, пропуск разделов
+ * и лишних полей, обработку escape-последовательностей и ошибок формата.
+ */
+class OkvedLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private OkvedLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new OkvedLoader();
+    }
+
+    private Path write(String json) throws IOException {
+        Path file = tempDir.resolve("okved.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Тест обхода вложенных секций и пропуска разделов без цифр.
+     */
+    @Test
+    void testLoadNestedSections() throws Exception {
+        Path file = write("[{\"code\":\"A\",\"name\":\"Сельское хозяйство\",\"items\":["
+                + "{\"code\":\"01\",\"name\":\"Растениеводство\",\"items\":["
+                + "{\"code\":\"01.11\",\"name\":\"Выращивание зерновых\"}]}]},"
+                + "{\"code\":\"B\",\"name\":\"Добыча\",\"items\":[]}]");
+
+        OkvedData data = loader.loadFromPath(file);
+
+        assertEquals(2, data.size());
+        assertEquals("01", data.getEntries().get(0).getCode());
+        assertEquals("Растениеводство", data.getEntries().get(0).getName());
+        assertEquals("0111", data.getEntries().get(1).getDigitsOnly());
+    }
+
+    /**
+     * Тест пропуска посторонних полей любых типов и порядка полей в объекте.
+     */
+    @Test
+    void testSkipUnknownFieldsAndFieldOrder() throws Exception {
+        Path file = write("\uFEFF[ {\"id\": 1, \"items\": [ 5, null, {\"name\": \"Дочерний\", \"code\": \"02.1\"} ],"
+                + " \"meta\": {\"a\": [true, false, -1.5e3], \"b\": \"x\\\"y\"},"
+                + " \"name\": \"Родитель\", \"code\": \"02\"} ]");
+
+        List<OkvedEntry> entries = loader.loadFromPath(file).getEntries();
+
+        assertEquals(2, entries.size());
+        assertEquals("02", entries.get(0).getCode());
+        assertEquals("02.1", entries.get(1).getCode());
+    }
+
+    /**
+     * Тест декодирования escape-последовательностей в названии.
+     */
+    @Test
+    void testDecodeEscapes() throws Exception {
+        Path file = write("[{\"code\":\"03\",\"name\":\"\\\"Рыба\\\" \\u0438 \\ud83d\\udc1f\\n\"}]");
+
+        OkvedEntry entry = loader.loadFromPath(file).getEntries().get(0);
+
+        assertEquals("\"Рыба\" и 🐟\n", entry.getName());
+    }
+
+    /**
+     * Тест с корнем, не являющимся массивом.
+     */
+    @Test
+    void testRootNotArray() throws Exception {
+        Path file = write("{\"code\":\"01\",\"name\":\"x\"}");
+
+        OkvedLoadException exception = assertThrows(
+                OkvedLoadException.class,
+                () -> loader.loadFromPath(file)
+        );
+        assertTrue(exception.getMessage().contains("ожидался JSON-массив"));
+    }
+
+    /**
+     * Тест с обрезанным файлом.
+     */
+    @Test
+    void testTruncatedJson() throws Exception {
+        Path file = write("[{\"code\":\"01\",\"name\":\"Раст");
+
+        OkvedLoadException exception = assertThrows(
+                OkvedLoadException.class,
+                () -> loader.loadFromPath(file)
+        );
+        assertTrue(exception.getMessage().contains("неожиданный конец"));
+    }
+
+    /**
+     * Тест со справочником без записей.
+     */
+    @Test
+    void testEmptyDictionary() throws Exception {
+        Path file = write("[{\"code\":\"A\",\"name\":\"Раздел\"}]");
+
+        OkvedLoadException exception = assertThrows(
+                OkvedLoadException.class,
+                () -> loader.loadFromPath(file)
+        );
+        assertTrue(exception.getMessage().contains("не содержит записей"));
+    }
+
+    /**
+     * Тест повторной загрузки неизменённого файла: возвращается тот же снимок.
+     */
+    @Test
+    void testReloadUnchangedFile() throws Exception {
+        Path file = write("[{\"code\":\"01\",\"name\":\"Растениеводство\"}]");
+
+        OkvedSnapshot first = loader.reloadFromPath(file, null);
+        OkvedSnapshot second = loader.reloadFromPath(file, first);
+
+        assertSame(first, second);
+    }
+
+    /**
+     * Тест обновления индекса по разнице с проверкой против полного перестроения.
+     */
+    @Test
+    void testReloadPatchesIndex() throws Exception {
+        OkvedLoader verifyingLoader = new OkvedLoader(true);
+        Path file = write("[{\"code\":\"01\",\"name\":\"Растениеводство\"},"
+                + "{\"code\":\"56.78\",\"name\":\"Рестораны\"},"
+                + "{\"code\":\"62.01\",\"name\":\"Разработка ПО\"}]");
+        OkvedSnapshot first = verifyingLoader.reloadFromPath(file, null);
+
+        write("[{\"code\":\"01\",\"name\":\"Растениеводство\"},"
+                + "{\"code\":\"45.89\",\"name\":\"Торговля\"},"
+                + "{\"code\":\"56.78\",\"name\":\"Рестораны и доставка\"}]");
+        OkvedSnapshot second = verifyingLoader.reloadFromPath(file, first);
+
+        List<OkvedEntry> entries = second.getData().getEntries();
+        assertEquals(3, entries.size());
+        assertSame(first.getData().getEntries().get(0), entries.get(0));
+        assertEquals("45.89", entries.get(1).getCode());
+        assertEquals("Рестораны и доставка", entries.get(2).getName());
+
+        OkvedMatcher matcher = new OkvedMatcher();
+        assertEquals("45.89", matcher.findBestMatch("+79000004589", second.getIndex()).getEntry().getCode());
+        assertEquals("01", matcher.findBestMatch("+79000006201", second.getIndex()).getEntry().getCode());
+    }
+
+    /**
+     * Тест перестановки записей без изменения их состава: индекс перестраивается,
+     * и при равных кандидатах выигрывает запись, ставшая первой.
+     */
+    @Test
+    void testReloadReorderedEntries() throws Exception {
+        OkvedLoader verifyingLoader = new OkvedLoader(true);
+        Path file = write("[{\"code\":\"01.11\",\"name\":\"A\"},{\"code\":\"02.11\",\"name\":\"B\"}]");
+        OkvedSnapshot first = verifyingLoader.reloadFromPath(file, null);
+
+        write("[{\"code\":\"02.11\",\"name\":\"B\"},{\"code\":\"01.11\",\"name\":\"A\"}]");
+        OkvedSnapshot second = verifyingLoader.reloadFromPath(file, first);
+
+        assertNotSame(first, second);
+        assertEquals("02.11", second.getData().getEntries().get(0).getCode());
+
+        OkvedMatcher matcher = new OkvedMatcher();
+        OkvedSnapshot fresh = verifyingLoader.reloadFromPath(file, null);
+        assertEquals("02.11", matcher.findBestMatch("+79000005311", fresh.getIndex()).getEntry().getCode());
+        assertEquals("02.11", matcher.findBestMatch("+79000005311", second.getIndex()).getEntry().getCode());
+    }
+
+    /**
+     * Тест перезаписи файла тем же объёмом: изменение замечается по содержимому,
+     * даже если время изменения осталось прежним.
+     */
+    @Test
+    void testReloadSameSizeRewrite() throws Exception {
+        Path file = write("[{\"code\":\"56.78\",\"name\":\"Рестораны\"}]");
+        FileTime modified = Files.getLastModifiedTime(file);
+        OkvedSnapshot first = loader.reloadFromPath(file, null);
+
+        write("[{\"code\":\"56.79\",\"name\":\"Рестораны\"}]");
+        Files.setLastModifiedTime(file, modified);
+        OkvedSnapshot second = loader.reloadFromPath(file, first);
+
+        assertNotSame(first, second);
+        assertEquals("56.79", second.getData().getEntries().get(0).getCode());
+    }
+
+    /**
+     * Тест условного HTTP-запроса по ETag: при ответе 304 возвращается тот же снимок.
+     */
+    @Test
+    void testReloadFromUrlNotModifiedByEtag() throws Exception {
+        assertNotModified("ETag", "\"v1\"", "If-None-Match");
+    }
+
+    /**
+     * Тест условного HTTP-запроса по Last-Modified: при ответе 304 возвращается тот же снимок.
+     */
+    @Test
+    void testReloadFromUrlNotModifiedByDate() throws Exception {
+        assertNotModified("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT", "If-Modified-Since");
+    }
+
+    private void assertNotModified(String header, String value, String conditionalHeader) throws Exception {
+        byte[] body = "[{\"code\":\"01\",\"name\":\"Растениеводство\"}]".getBytes(StandardCharsets.UTF_8);
+        List<String> conditions = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/okved.json", exchange -> {
+            String condition = exchange.getRequestHeaders().getFirst(conditionalHeader);
+            conditions.add(String.valueOf(condition));
+            exchange.getResponseHeaders().add(header, value);
+            if (value.equals(condition)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/okved.json";
+
+            OkvedSnapshot first = loader.reloadFromUrl(url, null);
+            OkvedSnapshot second = loader.reloadFromUrl(url, first);
+
+            assertSame(first, second);
+            assertEquals(List.of("null", value), conditions);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedEntry;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.FlatOkvedTrie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для пакетного поиска ОКВЭД по упакованным номерам.
+ *
+ * <p>Результаты сравниваем с {@link OkvedMatcher#findBestMatch(String, OkvedData)}.
+ */
+class OkvedMatcherBatchTest {
+
+    private final OkvedMatcher matcher = new OkvedMatcher();
+
+    /**
+     * Тест совпадения пакетного поиска с поштучным, включая повторяющиеся коды
+     * и коды длиннее номера.
+     */
+    @Test
+    void testBatchMatchesSingleSearch() {
+        Random random = new Random(11);
+        List<OkvedEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 700; i++) {
+            StringBuilder code = new StringBuilder();
+            code.append(random.nextInt(10)).append(random.nextInt(10));
+            int groups = random.nextInt(i % 50 == 0 ? 8 : 3);
+            for (int g = 0; g < groups; g++) {
+                code.append('.').append(random.nextInt(10)).append(random.nextInt(10));
+            }
+            entries.add(new OkvedEntry(code.toString(), "Вид " + i));
+        }
+        OkvedData data = new OkvedData(entries);
+        FlatOkvedTrie trie = FlatOkvedTrie.of(data);
+
+        String[] phones = new String[1003];
+        long[] packed = new long[phones.length];
+        for (int i = 0; i < phones.length; i++) {
+            StringBuilder phone = new StringBuilder("+79");
+            for (int d = 0; d < 9; d++) {
+                phone.append(i % 7 == 0 ? 0 : random.nextInt(10));
+            }
+            phones[i] = phone.toString();
+            packed[i] = OkvedMatcher.packPhone(phones[i]);
+        }
+
+        int[] ordinals = new int[phones.length];
+        int[] lengths = new int[phones.length];
+        matcher.findBestMatches(packed, trie, ordinals, lengths);
+
+        for (int i = 0; i < phones.length; i++) {
+            BestMatchResult expected = matcher.findBestMatch(phones[i], data);
+            assertSame(expected.getEntry(), entries.get(ordinals[i]), phones[i]);
+            assertEquals(expected.getMatchLength(), lengths[i], phones[i]);
+        }
+    }
+
+    /**
+     * Тест проверки аргументов пакетного поиска.
+     */
+    @Test
+    void testBatchArgumentValidation() {
+        FlatOkvedTrie trie = FlatOkvedTrie.of(new OkvedData(List.of(new OkvedEntry("01", "Растениеводство"))));
+
+        assertEquals(9_123_456_789L, OkvedMatcher.packPhone("+79123456789"));
+        assertThrows(IllegalArgumentException.class, () -> OkvedMatcher.packPhone("+7912345678"));
+        assertThrows(IllegalArgumentException.class,
+                () -> matcher.findBestMatches(new long[2], trie, new int[1], new int[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> matcher.findBestMatches(new long[]{10_000_000_000L}, trie, new int[1], new int[1]));
+    }
+}
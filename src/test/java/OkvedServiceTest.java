@@ -0,0 +1,109 @@
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Exception.OkvedLoadException;
+import com.okvedTest.OkvedService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для жизненного цикла и параллельного использования {@link OkvedService}.
+ */
+class OkvedServiceTest {
+
+    private static final String JSON = "[{\"code\":\"01\",\"name\":\"Растениеводство\",\"items\":["
+            + "{\"code\":\"56.78\",\"name\":\"Рестораны\"},"
+            + "{\"code\":\"45.89\",\"name\":\"Торговля\"}]}]";
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String json) throws Exception {
+        Path file = tempDir.resolve("okved.json");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Тест жизненного цикла: запросы принимаются только в состоянии READY.
+     */
+    @Test
+    void testLifecycle() throws Exception {
+        OkvedService service = OkvedService.forPath(write(JSON), 1000);
+
+        assertEquals(OkvedService.State.NEW, service.getState());
+        assertThrows(IllegalStateException.class, () -> service.findBestMatch("+79000005678"));
+
+        service.start();
+        assertTrue(service.isReady());
+        BestMatchResult result = service.find("8 (900) 000-56-78");
+        assertEquals("56.78", result.getEntry().getCode());
+        assertEquals(4, result.getMatchLength());
+
+        service.stop();
+        assertEquals(OkvedService.State.STOPPED, service.getState());
+        assertThrows(IllegalStateException.class, () -> service.findBestMatch("+79000005678"));
+        assertThrows(IllegalStateException.class, service::start);
+    }
+
+    /**
+     * Тест неудачного запуска: сервис переходит в состояние FAILED.
+     */
+    @Test
+    void testStartFailure() {
+        OkvedService service = OkvedService.forPath(tempDir.resolve("missing.json"), 0);
+
+        assertThrows(OkvedLoadException.class, service::start);
+        assertEquals(OkvedService.State.FAILED, service.getState());
+        assertThrows(IllegalStateException.class, service::start);
+    }
+
+    /**
+     * Тест параллельных запросов во время перезагрузки справочника.
+     */
+    @Test
+    void testConcurrentFindDuringReload() throws Exception {
+        Path file = write(JSON);
+        OkvedService service = OkvedService.forPath(file, 0);
+        service.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    int matched = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        String code = service.find("+79000005678").getEntry().getCode();
+                        if (code.equals("56.78")) {
+                            matched++;
+                        }
+                    }
+                    return matched;
+                }));
+            }
+
+            Files.write(file, JSON.replace("Рестораны", "Рестораны и доставка").getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            service.reload();
+
+            for (Future<Integer> future : futures) {
+                assertEquals(10_000, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("Рестораны и доставка", service.find("+79000005678").getEntry().getName());
+    }
+}
@@ -0,0 +1,66 @@
+import com.okvedTest.Exception.PhoneNormalizationException;
+import com.okvedTest.Load.PhoneInputGenerator;
+import com.okvedTest.Load.PhoneInputGenerator.Format;
+import com.okvedTest.PhoneNormalizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для генератора синтетических номеров нагрузочного теста.
+ */
+class PhoneInputGeneratorTest {
+
+    private final PhoneNormalizer normalizer = new PhoneNormalizer();
+
+    /**
+     * Тест воспроизводимости последовательности при одинаковом seed.
+     */
+    @Test
+    void testSameSeedSameSequence() {
+        Map<Format, Integer> mix = Map.of(Format.PLUS7, 1, Format.EIGHT, 1, Format.TEN_DIGITS, 1, Format.INVALID, 1);
+        PhoneInputGenerator first = new PhoneInputGenerator(mix, 7);
+        PhoneInputGenerator second = new PhoneInputGenerator(mix, 7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.next(), second.next());
+        }
+    }
+
+    /**
+     * Тест того, что корректные форматы проходят нормализацию.
+     */
+    @Test
+    void testValidFormatsNormalize() throws PhoneNormalizationException {
+        PhoneInputGenerator generator = new PhoneInputGenerator(
+                Map.of(Format.PLUS7, 1, Format.EIGHT, 1, Format.TEN_DIGITS, 1), 1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(normalizer.normalize(generator.next()).matches("\\+79\\d{9}"));
+        }
+    }
+
+    /**
+     * Тест того, что некорректные номера не проходят нормализацию.
+     */
+    @Test
+    void testInvalidFormatFails() {
+        PhoneInputGenerator generator = new PhoneInputGenerator(Map.of(Format.INVALID, 1), 1);
+
+        for (int i = 0; i < 1000; i++) {
+            String input = generator.next();
+            assertThrows(PhoneNormalizationException.class, () -> normalizer.normalize(input));
+        }
+    }
+
+    /**
+     * Тест с нулевой суммой весов.
+     */
+    @Test
+    void testZeroWeights() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PhoneInputGenerator(Map.of(Format.PLUS7, 0), 1));
+    }
+}
@@ -92,6 +92,7 @@ class PhoneNormalizerTest {
                 () -> normalizer.normalize("")
         );
         assertTrue(exception.getMessage().contains("не может быть пустым"));
+        assertEquals(PhoneNormalizationException.Reason.EMPTY, exception.getReason());
     }
 
     /**
@@ -104,6 +105,7 @@ class PhoneNormalizerTest {
                 () -> normalizer.normalize(null)
         );
         assertTrue(exception.getMessage().contains("не может быть пустым"));
+        assertEquals(PhoneNormalizationException.Reason.EMPTY, exception.getReason());
     }
 
     /**
@@ -116,6 +118,7 @@ class PhoneNormalizerTest {
                 () -> normalizer.normalize("+7912345")
         );
         assertTrue(exception.getMessage().contains("Неверная длина"));
+        assertEquals(PhoneNormalizationException.Reason.INVALID_LENGTH, exception.getReason());
     }
 
     /**
@@ -128,6 +131,7 @@ class PhoneNormalizerTest {
                 () -> normalizer.normalize("+791234567890000")
         );
         assertTrue(exception.getMessage().contains("Неверная длина"));
+        assertEquals(PhoneNormalizationException.Reason.INVALID_LENGTH, exception.getReason());
     }
 
     /**
@@ -140,6 +144,7 @@ class PhoneNormalizerTest {
                 () -> normalizer.normalize("+19123456789")
         );
         assertTrue(exception.getMessage().contains("должен начинаться с 7 или 8"));
+        assertEquals(PhoneNormalizationException.Reason.INVALID_COUNTRY_CODE, exception.getReason());
     }
 
     /**
@@ -152,6 +157,7 @@ class PhoneNormalizerTest {
                 () -> normalizer.normalize("+74951234567")
         );
         assertTrue(exception.getMessage().contains("не мобильный"));
+        assertEquals(PhoneNormalizationException.Reason.NOT_MOBILE, exception.getReason());
     }
 
     /**
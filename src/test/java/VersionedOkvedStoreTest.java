@@ -0,0 +1,201 @@
+import com.okvedTest.BestMatchResult;
+import com.okvedTest.Okved.MatchDiff;
+import com.okvedTest.Okved.OkvedData;
+import com.okvedTest.Okved.OkvedEntry;
+import com.okvedTest.Okved.OkvedMatcher;
+import com.okvedTest.Okved.OkvedSuffixIndex;
+import com.okvedTest.Okved.OkvedVersion;
+import com.okvedTest.Okved.VersionedOkvedStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для индекса по окончанию номера и хранилища версий справочника ОКВЭД.
+ *
+ * <p>Результаты поиска по индексу сравниваем с линейным поиском
+ * {@link OkvedMatcher#findBestMatch(String, OkvedData)}.
+ */
+class VersionedOkvedStoreTest {
+
+    private final OkvedMatcher matcher = new OkvedMatcher();
+
+    private static OkvedData randomData(Random random, int size) {
+        List<OkvedEntry> entries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            entries.add(randomEntry(random, "Вид " + i));
+        }
+        return new OkvedData(entries);
+    }
+
+    private static OkvedData randomUniqueData(Random random, int size, Set<String> codes) {
+        List<OkvedEntry> entries = new ArrayList<>();
+        while (entries.size() < size) {
+            entries.add(randomUniqueEntry(random, "Вид " + entries.size(), codes));
+        }
+        return new OkvedData(entries);
+    }
+
+    private static OkvedEntry randomUniqueEntry(Random random, String name, Set<String> codes) {
+        while (true) {
+            OkvedEntry entry = randomEntry(random, name);
+            if (codes.add(entry.getCode())) {
+                return entry;
+            }
+        }
+    }
+
+    private static OkvedEntry randomEntry(Random random, String name) {
+        StringBuilder code = new StringBuilder();
+        code.append(random.nextInt(10)).append(random.nextInt(10));
+        int groups = random.nextInt(3);
+        for (int g = 0; g < groups; g++) {
+            code.append('.');
+            int digits = 1 + random.nextInt(2);
+            for (int d = 0; d < digits; d++) {
+                code.append(random.nextInt(10));
+            }
+        }
+        return new OkvedEntry(code.toString(), name);
+    }
+
+    private static List<String> randomPhones(Random random, int count) {
+        List<String> phones = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder phone = new StringBuilder("+79");
+            for (int d = 0; d < 9; d++) {
+                phone.append(random.nextInt(10));
+            }
+            phones.add(phone.toString());
+        }
+        return phones;
+    }
+
+    private void assertSameMatches(OkvedData data, OkvedSuffixIndex index, List<String> phones) {
+        for (String phone : phones) {
+            BestMatchResult expected = matcher.findBestMatch(phone, data);
+            BestMatchResult actual = matcher.findBestMatch(phone, index);
+            assertSame(expected.getEntry(), actual.getEntry(), phone);
+            assertEquals(expected.getMatchLength(), actual.getMatchLength(), phone);
+        }
+    }
+
+    /**
+     * Тест совпадения поиска по индексу с линейным поиском, включая повторяющиеся коды.
+     */
+    @Test
+    void testIndexMatchesLinearSearch() {
+        Random random = new Random(1);
+        OkvedData data = randomData(random, 500);
+
+        assertSameMatches(data, OkvedSuffixIndex.build(data), randomPhones(random, 5000));
+    }
+
+    /**
+     * Тест резервной стратегии: при отсутствии совпадений выбирается наиболее общий код.
+     */
+    @Test
+    void testIndexFallback() {
+        OkvedData data = new OkvedData(List.of(
+                new OkvedEntry("01.11", "Детальный"),
+                new OkvedEntry("02", "Общий"),
+                new OkvedEntry("03", "Второй общий")));
+
+        BestMatchResult result = matcher.findBestMatch("+79000000005", OkvedSuffixIndex.build(data));
+
+        assertTrue(result.isFallback());
+        assertEquals("02", result.getEntry().getCode());
+    }
+
+    /**
+     * Тест версии-разницы: добавление в середину, переименование и удаление.
+     */
+    @Test
+    void testDerivedVersionMatchesFullData() {
+        Random random = new Random(2);
+        Set<String> usedCodes = new HashSet<>();
+        OkvedData oldData = randomUniqueData(random, 300, usedCodes);
+
+        List<OkvedEntry> changed = new ArrayList<>(oldData.getEntries());
+        changed.remove(10);
+        changed.set(20, new OkvedEntry(changed.get(20).getCode(), "Новое название"));
+        changed.add(0, randomUniqueEntry(random, "Добавлен в начало", usedCodes));
+        changed.add(150, randomUniqueEntry(random, "Добавлен в середину", usedCodes));
+        changed.add(randomUniqueEntry(random, "Добавлен в конец", usedCodes));
+        OkvedData newData = new OkvedData(changed);
+
+        VersionedOkvedStore store = new VersionedOkvedStore();
+        store.publish("old", oldData);
+        OkvedVersion version = store.publish("new", newData);
+
+        assertTrue(version.isDelta());
+        assertEquals(5, version.getChangeCount());
+        assertEquals(newData.size(), version.size());
+        assertEquals(codes(newData), codes(version.toOkvedData()));
+        assertSame(oldData.getEntries().get(50), version.toOkvedData().getEntries().get(50));
+
+        List<String> phones = randomPhones(random, 5000);
+        assertSameMatchesByCode(oldData, store, "old", phones);
+        assertSameMatchesByCode(newData, store, "new", phones);
+    }
+
+    /**
+     * Тест сравнения результатов между версиями.
+     */
+    @Test
+    void testDiffResults() {
+        VersionedOkvedStore store = new VersionedOkvedStore();
+        store.publish("v1", new OkvedData(List.of(
+                new OkvedEntry("01", "Растениеводство"),
+                new OkvedEntry("56.78", "Рестораны"))));
+        store.publish("v2", new OkvedData(List.of(
+                new OkvedEntry("01", "Растениеводство"),
+                new OkvedEntry("56.78", "Рестораны и доставка"),
+                new OkvedEntry("45.89", "Торговля"))));
+
+        List<MatchDiff> diffs = store.diffResults("v1", "v2",
+                List.of("+79000000001", "+79000005678", "+79000004589"));
+
+        assertEquals(2, diffs.size());
+        assertEquals("+79000005678", diffs.get(0).getNormalizedPhone());
+        assertEquals("Рестораны и доставка", diffs.get(0).getToResult().getEntry().getName());
+        assertEquals("45.89", diffs.get(1).getToResult().getEntry().getCode());
+        assertEquals(4, diffs.get(1).getToResult().getMatchLength());
+    }
+
+    /**
+     * Тест с неизвестной версией.
+     */
+    @Test
+    void testUnknownVersion() {
+        VersionedOkvedStore store = new VersionedOkvedStore();
+        store.publish("v1", new OkvedData(List.of(new OkvedEntry("01", "Растениеводство"))));
+
+        assertThrows(IllegalArgumentException.class, () -> store.findBestMatch("v2", "+79123456789"));
+        assertThrows(IllegalArgumentException.class, () -> store.remove("v1"));
+    }
+
+    private void assertSameMatchesByCode(OkvedData data, VersionedOkvedStore store, String label, List<String> phones) {
+        for (String phone : phones) {
+            BestMatchResult expected = matcher.findBestMatch(phone, data);
+            BestMatchResult actual = store.findBestMatch(label, phone);
+            assertEquals(expected.getEntry().getCode(), actual.getEntry().getCode(), phone);
+            assertEquals(expected.getEntry().getName(), actual.getEntry().getName(), phone);
+            assertEquals(expected.getMatchLength(), actual.getMatchLength(), phone);
+        }
+    }
+
+    private static List<String> codes(OkvedData data) {
+        List<String> codes = new ArrayList<>();
+        for (OkvedEntry entry : data.getEntries()) {
+            codes.add(entry.getCode() + "|" + entry.getName());
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,47 @@
+package com.okvedTest.Okved;
+
+import com.okvedTest.Exception.OkvedLoadException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit-тесты для проверки обновления индекса по разнице против полного перестроения.
+ *
+ * <p>Тест лежит в пакете справочника, чтобы собрать снимок с индексом, не соответствующим его данным.
+ */
+class OkvedSnapshotVerifyTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Тест того, что режим проверки замечает расхождение индекса после обновления.
+     */
+    @Test
+    void testVerifyDetectsMismatch() throws Exception {
+        OkvedData data = new OkvedData(List.of(
+                new OkvedEntry("01", "Растениеводство"),
+                new OkvedEntry("56.78", "Рестораны")));
+        OkvedData stale = new OkvedData(List.of(
+                new OkvedEntry("01", "Растениеводство"),
+                new OkvedEntry("62.01", "Разработка ПО")));
+        long[] ranks = OkvedDelta.initialRanks(data.size());
+        OkvedSnapshot corrupted = new OkvedSnapshot(data, ranks,
+                OkvedSuffixIndex.build(stale.getEntries(), ranks), null);
+
+        Path file = tempDir.resolve("okved.json");
+        Files.write(file, ("[{\"code\":\"01\",\"name\":\"Растениеводство\"},"
+                + "{\"code\":\"45.89\",\"name\":\"Торговля\"},"
+                + "{\"code\":\"56.78\",\"name\":\"Рестораны\"}]").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(OkvedLoadException.class, () -> new OkvedLoader(true).reloadFromPath(file, corrupted));
+        assertDoesNotThrow(() -> new OkvedLoader(false).reloadFromPath(file, corrupted));
+    }
+}